@@ -53,7 +53,7 @@ public class GameConfig
     private transient int backgroundFps = PAUSE_ON_LOST_FOCUS;
     private boolean vsync = false;
     private boolean resizable = true;
-    private transient int step = 120;
+    private transient int step = 60;
     private transient int clamp = 4;
     private boolean allowFullscreen = true;
     private boolean startFullscreen = false;
@@ -63,6 +63,11 @@ public class GameConfig
     private Vector2 sensitivity = new Vector2(SENSITIVITY, SENSITIVITY);
     private transient File icon = new DataFile("icon.png");
     private boolean gl30 = true;
+    private boolean dynamicResolution = false;
+    private float minResolutionScale = 0.5f;
+    private float maxResolutionScale = 1f;
+    private int targetFps = 60;
+    private float resolutionHysteresis = 0.1f;
 
     /**
      * Constructs a default config.
@@ -165,6 +170,17 @@ public class GameConfig
         return new GameConfig(this);
     }
 
+    /**
+     * Gets whether the 3D view is drawn at a scale that follows the frame
+     * time.
+     * @return {@link boolean} - Whether the {@link Game} uses dynamic
+     * resolution
+     */
+    public boolean hasDynamicResolution()
+    {
+        return dynamicResolution;
+    }
+
     /**
      * Gets whether the {@link Game} uses a fixed time step.
      * @return {@link boolean} - Whether the {@link Game} uses a fixed time
@@ -250,6 +266,34 @@ public class GameConfig
         return fps;
     }
 
+    /**
+     * Gets the largest scale of the 3D view with dynamic resolution.
+     * @return {@link float} - The largest scale
+     */
+    public float maxResolutionScale()
+    {
+        return maxResolutionScale;
+    }
+
+    /**
+     * Gets the smallest scale of the 3D view with dynamic resolution.
+     * @return {@link float} - The smallest scale
+     */
+    public float minResolutionScale()
+    {
+        return minResolutionScale;
+    }
+
+    /**
+     * Gets how far the frame time has to be from the budget before dynamic
+     * resolution changes the scale.
+     * @return {@link float} - The hysteresis as a fraction of the budget
+     */
+    public float resolutionHysteresis()
+    {
+        return resolutionHysteresis;
+    }
+
     /**
      * Gets the sensitivity of the mouse.
      * @return {@link Vector2} - The sensitivity of the mouse
@@ -283,6 +327,11 @@ public class GameConfig
         setImmersiveMode(config.isImmersive());
         setIcon(config.icon());
         setAntiAliasing(config.antiAliasing());
+        setDynamicResolution(config.hasDynamicResolution());
+        setResolutionScale(config.minResolutionScale(),
+                config.maxResolutionScale());
+        setTargetFps(config.targetFps());
+        setResolutionHysteresis(config.resolutionHysteresis());
     }
 
     /**
@@ -316,6 +365,17 @@ public class GameConfig
         this.clamp = clamp;
     }
 
+    /**
+     * Sets whether the 3D view is drawn at a scale that follows the frame
+     * time.
+     * @param dynamicResolution Whether the {@link Game} uses dynamic
+     * resolution
+     */
+    public void setDynamicResolution(boolean dynamicResolution)
+    {
+        this.dynamicResolution = dynamicResolution;
+    }
+
     /**
      * Sets whether the {@link Game} supports fullscreen.
      * @param allowFullscreen Whether the {@link Game} supports fullscreen
@@ -382,6 +442,28 @@ public class GameConfig
         this.fps = fps;
     }
 
+    /**
+     * Sets how far the frame time has to be from the budget before dynamic
+     * resolution changes the scale.
+     * @param resolutionHysteresis The hysteresis as a fraction of the budget
+     */
+    public void setResolutionHysteresis(float resolutionHysteresis)
+    {
+        this.resolutionHysteresis = resolutionHysteresis;
+    }
+
+    /**
+     * Sets the range of scales of the 3D view with dynamic resolution.
+     * @param minResolutionScale The smallest scale
+     * @param maxResolutionScale The largest scale
+     */
+    public void setResolutionScale(float minResolutionScale,
+            float maxResolutionScale)
+    {
+        this.minResolutionScale = minResolutionScale;
+        this.maxResolutionScale = maxResolutionScale;
+    }
+
     /**
      * Sets whether the {@link Game} window is resizable.
      * @param resizable Whether the {@link Game} window is resizable
@@ -428,6 +510,15 @@ public class GameConfig
         this.step = step;
     }
 
+    /**
+     * Sets the frame rate dynamic resolution keeps.
+     * @param targetFps The frame rate
+     */
+    public void setTargetFps(int targetFps)
+    {
+        this.targetFps = targetFps;
+    }
+
     /**
      * Sets the title of the {@link Game} window.
      * @param title The title of the {@link Game} window
@@ -519,6 +610,15 @@ public class GameConfig
         return new Reciprocal(step).floatValue();
     }
 
+    /**
+     * Gets the frame rate dynamic resolution keeps.
+     * @return {@link int} - The frame rate
+     */
+    public int targetFps()
+    {
+        return targetFps;
+    }
+
     /**
      * Gets the title of the {@link Game} window.
      * @return {@link String} - The title of the {@link Game} window
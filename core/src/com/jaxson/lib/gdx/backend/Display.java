@@ -14,6 +14,7 @@ import com.jaxson.lib.gdx.GameConfig;
 import com.jaxson.lib.gdx.graphics.DisplayOrientation;
 import com.jaxson.lib.gdx.graphics.color.MyColor;
 import com.jaxson.lib.gdx.graphics.g2d.Screenshot;
+import com.jaxson.lib.gdx.graphics.views.DynamicResolution;
 import com.jaxson.lib.gdx.graphics.views.View;
 import com.jaxson.lib.gdx.input.Inputs;
 import com.jaxson.lib.gdx.input.KeyCombination;
@@ -66,6 +67,8 @@ public class Display extends GameObject
     {
         this.game = game;
         this.view = new View(width(), height());
+        if (config().hasDynamicResolution())
+            view.setResolution(new DynamicResolution(config()));
         this.fullscreenMode = systemDisplayMode();
         this.defaultMode = windowedMode;
         updateLastWindowedMode();
@@ -12,6 +12,7 @@ import com.badlogic.gdx.Net;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.utils.Clipboard;
 import com.jaxson.lib.gdx.GameConfig;
+import com.jaxson.lib.gdx.graphics.g2d.SpriteAtlas;
 import com.jaxson.lib.gdx.graphics.views.View;
 import com.jaxson.lib.gdx.input.Inputs;
 import com.jaxson.lib.gdx.states.State;
@@ -36,6 +37,18 @@ public class Game
         this.display = new Display(this);
     }
 
+    /**
+     * Gets how far the {@link Game} is between two fixed logic updates.
+     * Used to blend the previous and current state when rendering.
+     * While paused the state is not updated, so the current state is shown.
+     * @return {@link float} - The alpha from {@code 0} to {@code 1}
+     */
+    public float alpha()
+    {
+        if (!hasFixedTimeStamp() || isPaused()) return 1f;
+        return accumulator / stepInterval();
+    }
+
     public Application application()
     {
         return Gdx.app;
@@ -85,6 +98,7 @@ public class Game
     {
         gameStates.dispose();
         display().dispose();
+        SpriteAtlas.disposeShared();
     }
 
     public void exit()
@@ -185,6 +199,7 @@ public class Game
 
     public void render()
     {
+        if (view().resolution() != null) view().resolution().beginFrame();
         dt = deltaTime();
         if (hasFixedTimeStamp())
         {
@@ -1,22 +1,175 @@
 package com.jaxson.lib.gdx.backend.objects;
 
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.jaxson.lib.gdx.graphics.g2d.SpriteAtlas;
 import com.jaxson.lib.gdx.graphics.g2d.entities.types.Sprite;
 import com.jaxson.lib.gdx.graphics.views.View;
 
+/**
+ * Draws the HUD into a cached frame buffer.
+ * The HUD is only drawn again when one of its {@link Sprite}s reports a
+ * change, every other frame the cache is drawn over the screen as one
+ * quad.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
 public class HudElements extends ObjectsBase<Sprite>
 {
+    private FrameBuffer buffer;
+    private Matrix4 projection;
+    private boolean caching;
+    private boolean dirty;
+    private int redraws;
+
+    public HudElements()
+    {
+        super();
+        this.projection = new Matrix4();
+        this.caching = true;
+        this.dirty = true;
+    }
+
     @Override
-    public void render(View view)
+    public void add(Sprite sprite)
     {
-        if (isEmpty()) return;
+        super.add(sprite);
+        dirty = true;
+    }
+
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        freeBuffer();
+    }
+
+    private void draw(View view)
+    {
+        SpriteAtlas.updateShared();
         view.spriteBatch().setProjectionMatrix(
                 view.hudView().getCamera().combined);
         view.hudView().apply();
         view.spriteBatch().begin();
         for (Sprite sprite: getObjects())
         {
-            sprite.render(view);
+            if (sprite.isVisible()) sprite.render(view);
         }
         view.spriteBatch().end();
     }
+
+    private void freeBuffer()
+    {
+        if (buffer != null) buffer.dispose();
+        buffer = null;
+        dirty = true;
+    }
+
+    /**
+     * Gets whether the HUD is drawn through a cache.
+     * @return {@link boolean} - Whether the HUD is cached
+     */
+    public boolean isCaching()
+    {
+        return caching;
+    }
+
+    /**
+     * Gets how many times the HUD was drawn into the cache.
+     * @return {@link int} - The number of draws
+     */
+    public int redraws()
+    {
+        return redraws;
+    }
+
+    @Override
+    public void remove(Sprite sprite)
+    {
+        super.remove(sprite);
+        dirty = true;
+    }
+
+    @Override
+    public void render(View view)
+    {
+        if (isEmpty()) return;
+        if (!caching)
+        {
+            draw(view);
+            return;
+        }
+
+        int width = Gdx.graphics.getWidth();
+        int height = Gdx.graphics.getHeight();
+        if (width <= 0 || height <= 0) return;
+        if (buffer == null)
+        {
+            buffer = new FrameBuffer(Format.RGBA8888, width, height, false);
+        }
+        for (Sprite sprite: getObjects())
+        {
+            if (!sprite.hasChanged()) continue;
+            sprite.resetChanged();
+            dirty = true;
+        }
+
+        SpriteBatch batch = view.spriteBatch();
+        if (dirty)
+        {
+            buffer.begin();
+            Gdx.gl.glClearColor(0f, 0f, 0f, 0f);
+            Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+            batch.setBlendFunctionSeparate(GL20.GL_SRC_ALPHA,
+                    GL20.GL_ONE_MINUS_SRC_ALPHA,
+                    GL20.GL_ONE,
+                    GL20.GL_ONE_MINUS_SRC_ALPHA);
+            draw(view);
+            buffer.end();
+            dirty = false;
+            redraws ++;
+        }
+
+        Texture texture = buffer.getColorBufferTexture();
+        projection.setToOrtho2D(0f, 0f, width, height);
+        batch.setProjectionMatrix(projection);
+        batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE_MINUS_SRC_ALPHA);
+        batch.begin();
+        batch.draw(texture,
+                0f,
+                0f,
+                width,
+                height,
+                0,
+                0,
+                texture.getWidth(),
+                texture.getHeight(),
+                false,
+                true);
+        batch.end();
+        batch.setBlendFunction(GL20.GL_SRC_ALPHA,
+                GL20.GL_ONE_MINUS_SRC_ALPHA);
+    }
+
+    @Override
+    public void resize(int width, int height)
+    {
+        super.resize(width, height);
+        freeBuffer();
+    }
+
+    /**
+     * Sets whether the HUD is drawn through a cache.
+     * @param caching Whether to cache
+     */
+    public void setCaching(boolean caching)
+    {
+        this.caching = caching;
+        if (!caching) freeBuffer();
+    }
 }
@@ -48,6 +48,11 @@ public class MixedObjects extends GameObject implements GameObjects<Entity>
         return models.environment();
     }
 
+    public HudElements hud()
+    {
+        return hud;
+    }
+
     @Override
     public boolean isEmpty()
     {
@@ -56,6 +61,11 @@ public class MixedObjects extends GameObject implements GameObjects<Entity>
                 && hud.isEmpty();
     }
 
+    public Models models()
+    {
+        return models;
+    }
+
     @Override
     public void pause()
     {
@@ -72,12 +82,12 @@ public class MixedObjects extends GameObject implements GameObjects<Entity>
 
     public void remove(Sprite sprite)
     {
-        sprites.add(sprite);
+        sprites.remove(sprite);
     }
 
     public void removeHud(Sprite sprite)
     {
-        hud.add(sprite);
+        hud.remove(sprite);
     }
 
     @Override
@@ -1,14 +1,39 @@
 package com.jaxson.lib.gdx.backend.objects;
 
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.Environment;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
 import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
 import com.jaxson.lib.gdx.graphics.g3d.environment.MyEnvironment;
+import com.jaxson.lib.gdx.graphics.g3d.util.InstancedRenderer;
+import com.jaxson.lib.gdx.graphics.g3d.util.LooseOctree;
+import com.jaxson.lib.gdx.graphics.g3d.util.OcclusionBuffer;
+import com.jaxson.lib.gdx.graphics.g3d.util.Occluder;
+import com.jaxson.lib.gdx.graphics.g3d.util.StaticChunks;
 import com.jaxson.lib.gdx.graphics.views.View;
 import com.jaxson.lib.util.MyArrayList;
 
 public class Models extends ObjectsBase<Entity>
 {
     private MyEnvironment environment;
+    private LooseOctree index;
+    private MyArrayList<Entity> visible;
+    private MyArrayList<Entity> shadowCasters;
+    private int nodesVisited;
+    private int shadowNodesVisited;
+    private InstancedRenderer instancedRenderer;
+    private MyArrayList<Entity> statics;
+    private StaticChunks staticChunks;
+    private boolean staticDirty;
+    private boolean instancing;
+    private MyArrayList<Occluder> occluders;
+    private OcclusionBuffer occlusionBuffer;
+    private BoundingBox occludeeBounds;
+    private int occludedCount;
+    private boolean occlusion;
+    private int reducedCount;
 
     public Models()
     {
@@ -19,6 +44,56 @@ public class Models extends ObjectsBase<Entity>
     {
         super();
         this.environment = environment;
+        this.index = new LooseOctree();
+        this.visible = new MyArrayList<>();
+        this.shadowCasters = new MyArrayList<>();
+        this.instancing = true;
+        this.statics = new MyArrayList<>();
+        this.staticChunks = new StaticChunks();
+        this.occluders = new MyArrayList<>();
+        this.occludeeBounds = new BoundingBox();
+    }
+
+    @Override
+    public void add(Entity entity)
+    {
+        super.add(entity);
+        if (entity.isStatic())
+        {
+            statics.add(entity);
+            staticDirty = true;
+            return;
+        }
+        index.add(entity);
+    }
+
+    /**
+     * Adds an entity whose meshes hide what is behind them.
+     * Keep occluders few and large, such as walls and floors. The entity is
+     * not added to be drawn.
+     * @param entity The entity
+     */
+    public void addOccluder(Entity entity)
+    {
+        if (occluder(entity) == null) occluders.add(new Occluder(entity));
+    }
+
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        if (instancedRenderer != null) instancedRenderer.dispose();
+        staticChunks.dispose();
+        environment.dispose();
+    }
+
+    /**
+     * Gets how many entities were drawn in the last frame.
+     * @return {@link int} - The number of entities
+     */
+    public int drawnCount()
+    {
+        return visible.size();
     }
 
     public MyEnvironment environment()
@@ -26,6 +101,30 @@ public class Models extends ObjectsBase<Entity>
         return environment;
     }
 
+    public LooseOctree index()
+    {
+        return index;
+    }
+
+    /**
+     * Gets the renderer drawing shared meshes in one call.
+     * @return {@link InstancedRenderer} - The renderer or {@code null} if
+     * instancing is off or OpenGL 3 is not in use
+     */
+    public InstancedRenderer instancedRenderer()
+    {
+        return instancedRenderer;
+    }
+
+    /**
+     * Marks the static batch as changed.
+     * Call after moving, scaling or recoloring a static entity.
+     */
+    public void invalidateStatics()
+    {
+        staticDirty = true;
+    }
+
     private MyArrayList<ModelInstance> instances()
     {
         MyArrayList<ModelInstance> instances = new MyArrayList<>();
@@ -36,27 +135,284 @@ public class Models extends ObjectsBase<Entity>
         return instances;
     }
 
+    /**
+     * Gets how many nodes of the index were visited culling the last frame.
+     * @return {@link int} - The number of nodes
+     */
+    public int nodesVisited()
+    {
+        return nodesVisited;
+    }
+
+    /**
+     * Gets how many entities were hidden by occluders in the last frame.
+     * @return {@link int} - The number of entities
+     */
+    public int occludedCount()
+    {
+        return occludedCount;
+    }
+
+    /**
+     * Removes entities hidden behind the occluders from the visible list.
+     */
+    private void occlude(Camera camera)
+    {
+        occludedCount = 0;
+        if (!occlusion || occluders.isEmpty()) return;
+        if (occlusionBuffer == null) occlusionBuffer = new OcclusionBuffer();
+        occlusionBuffer.begin(camera.combined);
+        for (Occluder occluder: occluders)
+        {
+            occluder.draw(occlusionBuffer);
+        }
+        int kept = 0;
+        for (int i = 0; i < visible.size(); i ++)
+        {
+            Entity entity = visible.get(i);
+            if (occluder(entity) == null && !occlusionBuffer.isVisible(
+                    entity.boundingBox(occludeeBounds), entity.transform()))
+            {
+                occludedCount ++;
+                continue;
+            }
+            visible.set(kept ++, entity);
+        }
+        visible.subList(kept, visible.size()).clear();
+    }
+
+    private Occluder occluder(Entity entity)
+    {
+        for (Occluder occluder: occluders)
+        {
+            if (occluder.entity() == entity) return occluder;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the buffer occluders were drawn into in the last frame.
+     * @return {@link OcclusionBuffer} - The buffer or {@code null} if
+     * occlusion culling has not run
+     */
+    public OcclusionBuffer occlusionBuffer()
+    {
+        return occlusionBuffer;
+    }
+
+    /**
+     * Gets how many entities were drawn below full detail in the last frame.
+     * @return {@link int} - The number of entities
+     */
+    public int reducedCount()
+    {
+        return reducedCount;
+    }
+
+    @Override
+    public void remove(Entity entity)
+    {
+        super.remove(entity);
+        removeOccluder(entity);
+        if (statics.remove(entity))
+        {
+            staticDirty = true;
+            return;
+        }
+        index.remove(entity);
+    }
+
+    public void removeOccluder(Entity entity)
+    {
+        Occluder occluder = occluder(entity);
+        if (occluder != null) occluders.remove(occluder);
+    }
+
     @Override
     public void render(View view)
     {
         if (isEmpty()) return;
 
+        Camera camera = view.modelView().getCamera();
+        index.update();
+        StaticChunks staticBatch = staticBatch();
+        environment.render(index, camera, shadowCasters, staticBatch);
+        shadowNodesVisited = environment.nodesVisited();
+        view.beginModels();
         view.modelView().apply();
-        environment.render(getObjects(), view.modelView().getCamera());
-        view.modelBatch().begin(view.modelView().getCamera());
-        for (Entity entity: getObjects())
+        index.cull(camera.frustum, visible);
+        nodesVisited = index.nodesVisited();
+        occlude(camera);
+        updateLods(camera);
+        InstancedRenderer instanced = instancedRenderer();
+        if (instancing && instanced == null
+                && InstancedRenderer.isSupported())
+        {
+            instanced = instancedRenderer = new InstancedRenderer();
+        }
+        if (!instancing) instanced = null;
+        if (instanced != null) instanced.resetCounts();
+
+        for (int pass = 0; pass < environment.receiverCount(); pass ++)
         {
-            if (entity.isVisible(view.modelView().getCamera()))
+            Environment receivers = environment.receivers(pass);
+            view.modelBatch().begin(camera);
+            if (staticBatch != null)
             {
-                view.modelBatch().render(
-                        entity.modelInstance(), environment);
+                renderStatics(view, camera, staticBatch, pass, receivers);
             }
+            for (int i = 0; i < visible.size(); i ++)
+            {
+                Entity entity = visible.get(i);
+                if (environment.receiverIndex(entity) != pass) continue;
+                if (instanced != null && instanced.add(entity)) continue;
+                view.modelBatch().render(entity.renderInstance(), receivers);
+            }
+            if (instanced != null)
+            {
+                instanced.flush(view.modelBatch(), receivers);
+                instanced.render(camera, receivers);
+            }
+            view.modelBatch().end();
+        }
+        view.endModels();
+    }
+
+    /**
+     * Draws the static chunks inside the camera that use an environment.
+     */
+    private void renderStatics(View view,
+            Camera camera,
+            StaticChunks chunks,
+            int pass,
+            Environment receivers)
+    {
+        for (int i = 0; i < chunks.size(); i ++)
+        {
+            Vector3 center = chunks.center(i);
+            float radius = chunks.radius(i);
+            if (!camera.frustum.sphereInFrustum(center, radius)) continue;
+            if (environment.receiverIndex(center, radius) != pass) continue;
+            view.modelBatch().render(chunks.chunk(i), receivers);
         }
-        view.modelBatch().end();
     }
 
     public void setEnvironment(MyEnvironment environment)
     {
         this.environment = environment;
     }
+
+    /**
+     * Sets whether entities hidden behind occluders are skipped.
+     * Occluders are drawn into a small depth buffer on the CPU each frame.
+     * @param occlusion Whether to cull occluded entities
+     * @see #addOccluder(Entity)
+     */
+    public void setOcclusion(boolean occlusion)
+    {
+        this.occlusion = occlusion;
+    }
+
+    /**
+     * Sets whether entities sharing a mesh are drawn in one call.
+     * Has no effect without OpenGL 3.
+     * @param instancing Whether to instance
+     */
+    public void setInstancing(boolean instancing)
+    {
+        this.instancing = instancing;
+    }
+
+    /**
+     * Gets how many entities were drawn into the shadow map in the last
+     * frame.
+     * @return {@link int} - The number of entities
+     */
+    public int shadowDrawnCount()
+    {
+        return shadowCasters.size();
+    }
+
+    /**
+     * Gets how many nodes of the index were visited culling the shadow map
+     * in the last frame.
+     * @return {@link int} - The number of nodes
+     */
+    public int shadowNodesVisited()
+    {
+        return shadowNodesVisited;
+    }
+
+    /**
+     * Merges the static entities by material into chunks, each drawn with
+     * the sharpest shadow cascade covering it.
+     * Only rebuilt when the static set changed.
+     */
+    private StaticChunks staticBatch()
+    {
+        if (statics.isEmpty())
+        {
+            if (!staticChunks.isEmpty()) staticChunks.clear();
+            return null;
+        }
+        if (!staticDirty) return staticChunks;
+        staticChunks.build(statics);
+        environment.invalidateStaticShadows();
+        staticDirty = false;
+        return staticChunks;
+    }
+
+    /**
+     * Gets how many chunks the static entities are merged into.
+     * @return {@link int} - The number of chunks
+     */
+    public int staticChunkCount()
+    {
+        return staticChunks.size();
+    }
+
+    /**
+     * Gets how many entities are merged into the static batch.
+     * @return {@link int} - The number of entities
+     */
+    public int staticCount()
+    {
+        return statics.size();
+    }
+
+    /**
+     * Moves an entity between the static batch and the index when whether it
+     * is static changed since it was added, as when its body was made
+     * kinematic or given mass. Entities not added are ignored.
+     * @param entity The entity
+     */
+    public void updateStatic(Entity entity)
+    {
+        boolean isStatic = entity.isStatic();
+        if (index.contains(entity))
+        {
+            if (!isStatic) return;
+            index.remove(entity);
+            statics.add(entity);
+            staticDirty = true;
+            return;
+        }
+        if (isStatic || !statics.remove(entity)) return;
+        staticDirty = true;
+        index.add(entity);
+    }
+
+    /**
+     * Picks the level of detail of every visible entity.
+     */
+    private void updateLods(Camera camera)
+    {
+        reducedCount = 0;
+        for (int i = 0; i < visible.size(); i ++)
+        {
+            Entity entity = visible.get(i);
+            entity.updateLod(camera);
+            if (entity.lod() > 0) reducedCount ++;
+        }
+    }
 }
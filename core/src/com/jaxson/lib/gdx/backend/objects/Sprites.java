@@ -1,22 +1,94 @@
 package com.jaxson.lib.gdx.backend.objects;
 
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import com.badlogic.gdx.graphics.Texture;
+import com.jaxson.lib.gdx.graphics.g2d.SpriteAtlas;
 import com.jaxson.lib.gdx.graphics.g2d.entities.types.Sprite;
 import com.jaxson.lib.gdx.graphics.views.View;
+import com.jaxson.lib.util.MyArrayList;
 
+/**
+ * Draws {@link Sprite}s back to front by depth.
+ * Sprites at the same depth are grouped by texture, so sprites packed into
+ * one {@link SpriteAtlas} page are drawn without flushing. The shared atlas
+ * is updated before drawing.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
 public class Sprites extends ObjectsBase<Sprite>
 {
+    private MyArrayList<Sprite> order;
+    private Map<Texture, Integer> pages;
+    private int flushes;
+
+    private final Comparator<Sprite> comparator = new Comparator<Sprite>()
+    {
+        @Override
+        public int compare(Sprite first, Sprite second)
+        {
+            int depth = Float.compare(second.depth(), first.depth());
+            if (depth != 0) return depth;
+            return Integer.compare(page(first), page(second));
+        }
+    };
+
+    public Sprites()
+    {
+        super();
+        this.order = new MyArrayList<>();
+        this.pages = new IdentityHashMap<>();
+    }
+
+    /**
+     * Gets how many times the batch flushed drawing the last frame.
+     * @return {@link int} - The number of flushes
+     */
+    public int flushes()
+    {
+        return flushes;
+    }
+
     @Override
     public void render(View view)
     {
+        flushes = 0;
         if (isEmpty()) return;
+        SpriteAtlas.updateShared();
+        order.clear();
+        order.addAll(getObjects());
+        for (Sprite sprite: order)
+        {
+            page(sprite);
+        }
+        Collections.sort(order, comparator);
+        pages.clear();
+
         view.spriteBatch().setProjectionMatrix(
                 view.spriteView().getCamera().combined);
         view.spriteView().apply();
         view.spriteBatch().begin();
-        for (Sprite sprite: getObjects())
+        for (int i = 0; i < order.size(); i ++)
         {
-            sprite.render(view);
+            Sprite sprite = order.get(i);
+            if (sprite.isVisible()) sprite.render(view);
         }
         view.spriteBatch().end();
+        flushes = view.spriteBatch().renderCalls;
+    }
+
+    private int page(Sprite sprite)
+    {
+        Texture texture = sprite.texture();
+        if (texture == null) return -1;
+        Integer page = pages.get(texture);
+        if (page == null)
+        {
+            page = pages.size();
+            pages.put(texture, page);
+        }
+        return page;
     }
 }
@@ -3,6 +3,7 @@ package com.jaxson.lib.gdx.box2d.bodies.types;
 import static com.jaxson.lib.gdx.box2d.simulation.Box2DWorld.METERS_TO_PIXELS;
 import static com.jaxson.lib.gdx.box2d.simulation.Box2DWorld.PIXELS_TO_METERS;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.physics.box2d.Body;
 import com.badlogic.gdx.physics.box2d.BodyDef;
@@ -12,6 +13,7 @@ import com.badlogic.gdx.physics.box2d.FixtureDef;
 import com.badlogic.gdx.physics.box2d.PolygonShape;
 import com.jaxson.lib.gdx.box2d.simulation.Box2DWorld;
 import com.jaxson.lib.gdx.graphics.g2d.entities.types.SpriteActor;
+import com.jaxson.lib.gdx.io.TextureRegionFromFile;
 import com.jaxson.lib.math.MyMath;
 import com.jaxson.lib.util.Unwrapable;
 import com.badlogic.gdx.physics.box2d.Shape;
@@ -31,7 +33,17 @@ public class SpriteBody extends SpriteActor
 
     public SpriteBody(Texture texture, Hitbox hitbox, BodyType type, float density)
     {
-        super(texture);
+        this(new TextureRegion(texture), hitbox, type, density);
+    }
+
+    public SpriteBody(TextureRegion region, BodyType type, float density)
+    {
+        this(region, null, type, density);
+    }
+
+    public SpriteBody(TextureRegion region, Hitbox hitbox, BodyType type, float density)
+    {
+        super(region);
 
         setOrigin();
 
@@ -54,6 +66,16 @@ public class SpriteBody extends SpriteActor
         this(texture.unwrap(), hitbox, type, density);
     }
 
+    public SpriteBody(TextureRegionFromFile region, BodyType type, float density)
+    {
+        this(region, null, type, density);
+    }
+
+    public SpriteBody(TextureRegionFromFile region, Hitbox hitbox, BodyType type, float density)
+    {
+        this(region.unwrap(), hitbox, type, density);
+    }
+
     public Body body()
     {
         if (!hasFixture()) return null;
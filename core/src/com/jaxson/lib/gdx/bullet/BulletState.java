@@ -2,6 +2,7 @@ package com.jaxson.lib.gdx.bullet;
 
 import com.badlogic.gdx.math.Vector3;
 import com.jaxson.lib.gdx.backend.Game;
+import com.jaxson.lib.gdx.bullet.simulation.BroadphaseType;
 import com.jaxson.lib.gdx.bullet.simulation.BulletWorld;
 import com.jaxson.lib.gdx.bullet.simulation.bodies.Floor;
 import com.jaxson.lib.gdx.bullet.simulation.bodies.types.PlayerBody;
@@ -20,35 +21,45 @@ public abstract class BulletState extends State
     private BulletWorld world;
 
     public BulletState(Game game)
+    {
+        this(game, BroadphaseType.DEFAULT);
+    }
+
+    public BulletState(Game game, BroadphaseType broadphaseType)
     {
         super(game);
-        this.world = new BulletWorld(environment(), game);
+        this.world = new BulletWorld(environment(), game, broadphaseType);
         setShadows(SHADOWS);
     }
 
     public void applyPhysics(Floor entity)
     {
         world.add(entity);
+        models().updateStatic(entity);
     }
 
     public void applyPhysics(Floor entity, boolean hasMovement)
     {
         world.add(entity, hasMovement);
+        models().updateStatic(entity);
     }
 
     public void applyPhysics(PlayerBody entity)
     {
         world.add(entity);
+        models().updateStatic(entity);
     }
 
     public void applyPhysics(RigidBody entity)
     {
         world.add(entity);
+        models().updateStatic(entity);
     }
 
     public void applyPhysics(SoftBody entity)
     {
         world.add(entity);
+        models().updateStatic(entity);
     }
 
     public void applyPhysics(TargetCamera camera)
@@ -101,8 +112,10 @@ public abstract class BulletState extends State
     @Override
     public void render(View view)
     {
+        world.interpolate(game().alpha());
         super.render(view);
         world.render(view);
+        world.restoreTransforms();
     }
 
     public void setShadows(boolean shadows)
@@ -113,6 +126,7 @@ public abstract class BulletState extends State
     @Override
     public void update(float dt)
     {
+        world.saveTransforms();
         super.update(dt);
         world.update(dt);
     }
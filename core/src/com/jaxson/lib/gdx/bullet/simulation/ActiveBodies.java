@@ -0,0 +1,211 @@
+package com.jaxson.lib.gdx.bullet.simulation;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.EntityBody;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.RigidBody;
+import com.jaxson.lib.util.MyArrayList;
+
+/**
+ * Tracks which bodies of a {@link BulletWorld} are awake.
+ * Bullet only calls a {@link MotionState} for active bodies, so the awake
+ * set is rebuilt from those calls each step instead of polling every body.
+ * Bodies without a motion state are treated as always awake, static bodies
+ * as always sleeping. Every body knows its slot in the list it is in, so
+ * removing one swaps the last body into its place instead of searching.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class ActiveBodies
+{
+    private MyArrayList<RigidBody> active;
+    private MyArrayList<RigidBody> moved;
+    private MyArrayList<EntityBody> awake;
+    private Map<EntityBody, Integer> awakeSlots;
+    private int tracked;
+    private int statics;
+
+    public ActiveBodies()
+    {
+        this.active = new MyArrayList<>();
+        this.moved = new MyArrayList<>();
+        this.awake = new MyArrayList<>();
+        this.awakeSlots = new IdentityHashMap<>();
+    }
+
+    /**
+     * Gets the bodies woken by Bullet during the last step.
+     * @return {@link MyArrayList} - The tracked awake bodies
+     */
+    public MyArrayList<RigidBody> active()
+    {
+        return active;
+    }
+
+    public int activeCount()
+    {
+        return active.size() + awake.size();
+    }
+
+    protected void add(EntityBody entity)
+    {
+        entity.setSleeping(false);
+        awakeSlots.put(entity, awake.size());
+        awake.add(entity);
+    }
+
+    protected void add(RigidBody entity)
+    {
+        if (entity.body().isKinematicObject())
+        {
+            add((EntityBody) entity);
+        }
+        else if (entity.body().isStaticObject())
+        {
+            entity.setSleeping(true);
+            statics ++;
+        }
+        else
+        {
+            entity.setSleeping(false);
+            entity.motionState().track(this, entity);
+            entity.motionState().setSlot(active.size());
+            active.add(entity);
+            tracked ++;
+        }
+    }
+
+    /**
+     * Gets the bodies that are never put to sleep.
+     * @return {@link MyArrayList} - The untracked awake bodies
+     */
+    public MyArrayList<EntityBody> awake()
+    {
+        return awake;
+    }
+
+    /**
+     * Marks every tracked body as sleeping until Bullet moves it.
+     */
+    protected void beginStep()
+    {
+        for (RigidBody entity: active)
+        {
+            entity.setSleeping(true);
+        }
+    }
+
+    /**
+     * Swaps in the bodies moved during the step.
+     * Bodies that fell asleep keep their last transform for interpolation.
+     */
+    protected void endStep()
+    {
+        for (RigidBody entity: active)
+        {
+            if (entity.isSleeping()) entity.saveTransform();
+        }
+        MyArrayList<RigidBody> last = active;
+        active = moved;
+        moved = last;
+        moved.clear();
+    }
+
+    protected void interpolate(float alpha)
+    {
+        for (RigidBody entity: active)
+        {
+            entity.interpolate(alpha);
+        }
+        for (EntityBody entity: awake)
+        {
+            entity.interpolate(alpha);
+        }
+    }
+
+    protected void moved(RigidBody entity)
+    {
+        if (!entity.isSleeping()) return;
+        entity.setSleeping(false);
+        entity.motionState().setSlot(moved.size());
+        moved.add(entity);
+    }
+
+    /**
+     * Removes a body between steps.
+     * @param entity The body
+     * @return {@link boolean} - Whether the body was always awake
+     */
+    protected boolean remove(EntityBody entity)
+    {
+        Integer slot = awakeSlots.remove(entity);
+        if (slot == null) return false;
+        int last = awake.size() - 1;
+        if (slot != last)
+        {
+            EntityBody swapped = awake.get(last);
+            awake.set(slot, swapped);
+            awakeSlots.put(swapped, slot);
+        }
+        awake.remove(last);
+        return true;
+    }
+
+    protected void remove(RigidBody entity)
+    {
+        if (remove((EntityBody) entity)) return;
+        if (entity.motionState().isTracked())
+        {
+            if (!entity.isSleeping()) removeActive(entity);
+            entity.motionState().untrack();
+            tracked --;
+        }
+        else
+        {
+            statics --;
+        }
+        entity.setSleeping(false);
+    }
+
+    private void removeActive(RigidBody entity)
+    {
+        int slot = entity.motionState().slot();
+        int last = active.size() - 1;
+        if (slot != last)
+        {
+            RigidBody swapped = active.get(last);
+            active.set(slot, swapped);
+            swapped.motionState().setSlot(slot);
+        }
+        active.remove(last);
+    }
+
+    protected void restoreTransforms()
+    {
+        for (RigidBody entity: active)
+        {
+            entity.restoreTransform();
+        }
+        for (EntityBody entity: awake)
+        {
+            entity.restoreTransform();
+        }
+    }
+
+    protected void saveTransforms()
+    {
+        for (RigidBody entity: active)
+        {
+            entity.saveTransform();
+        }
+        for (EntityBody entity: awake)
+        {
+            entity.saveTransform();
+        }
+    }
+
+    public int sleepingCount()
+    {
+        return tracked - active.size() + statics;
+    }
+}
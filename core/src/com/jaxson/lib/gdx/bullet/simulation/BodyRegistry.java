@@ -0,0 +1,164 @@
+package com.jaxson.lib.gdx.bullet.simulation;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.EntityBody;
+import com.jaxson.lib.util.MyArrayList;
+
+/**
+ * Maps Bullet collision objects back to their {@link EntityBody}.
+ * Each registered body stores its slot in the Bullet user value so lookups
+ * from ray hits and contact callbacks do not have to scan every entity.
+ * Every body also gets an id that is never reused, so state saved by slot
+ * can be checked against the body now in that slot.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class BodyRegistry
+{
+    public static final int NOT_REGISTERED = -1;
+
+    private static final int CAPACITY = 64;
+
+    private MyArrayList<EntityBody> entities;
+    private Set<EntityBody> members;
+    private int[] ids;
+    private int nextId;
+
+    public BodyRegistry()
+    {
+        this.entities = new MyArrayList<>();
+        this.members = Collections.newSetFromMap(
+                new IdentityHashMap<EntityBody, Boolean>());
+        this.ids = new int[CAPACITY];
+    }
+
+    /**
+     * Registers an {@link EntityBody}.
+     * @param entity The entity
+     * @return {@link boolean} - Whether the entity was added
+     */
+    public boolean add(EntityBody entity)
+    {
+        if (entity == null || contains(entity)) return false;
+        int index = entities.size();
+        if (index == ids.length) ids = Arrays.copyOf(ids, index * 2);
+        ids[index] = nextId ++;
+        entity.body().setUserValue(index);
+        entities.add(entity);
+        members.add(entity);
+        return true;
+    }
+
+    public void clear()
+    {
+        for (EntityBody entity: entities)
+        {
+            entity.body().setUserValue(NOT_REGISTERED);
+        }
+        entities.clear();
+        members.clear();
+    }
+
+    public boolean contains(EntityBody entity)
+    {
+        return members.contains(entity);
+    }
+
+    public MyArrayList<EntityBody> entities()
+    {
+        return entities;
+    }
+
+    /**
+     * Gets the {@link EntityBody} that owns a collision object.
+     * @param body The collision object
+     * @return {@link EntityBody} - The entity or {@code null} when the body
+     * is not registered
+     */
+    public EntityBody get(btCollisionObject body)
+    {
+        int index = index(body);
+        if (index == NOT_REGISTERED) return null;
+        return entities.get(index);
+    }
+
+    public EntityBody get(int index)
+    {
+        return entities.get(index);
+    }
+
+    /**
+     * Gets the id of the body in a slot.
+     * Ids are given out in order and never reused, even after the body is
+     * removed.
+     * @param index The slot
+     * @return {@link int} - The id
+     */
+    public int id(int index)
+    {
+        if (index < 0 || index >= entities.size())
+            throw new IndexOutOfBoundsException("No body in slot " + index);
+        return ids[index];
+    }
+
+    /**
+     * Gets the slot of a collision object in this registry.
+     * @param body The collision object
+     * @return {@link int} - The slot or {@link #NOT_REGISTERED}
+     */
+    public int index(btCollisionObject body)
+    {
+        if (body == null) return NOT_REGISTERED;
+        return validate(body, body.getUserValue());
+    }
+
+    public int index(EntityBody entity)
+    {
+        if (!contains(entity)) return NOT_REGISTERED;
+        return index(entity.body());
+    }
+
+    public boolean isEmpty()
+    {
+        return entities.isEmpty();
+    }
+
+    /**
+     * Removes an {@link EntityBody}.
+     * The last entity is moved into the freed slot.
+     * @param entity The entity
+     * @return {@link boolean} - Whether the entity was removed
+     */
+    public boolean remove(EntityBody entity)
+    {
+        if (!members.remove(entity)) return false;
+        int index = entity.body().getUserValue();
+        int last = entities.size() - 1;
+        if (index != last)
+        {
+            EntityBody moved = entities.get(last);
+            entities.set(index, moved);
+            ids[index] = ids[last];
+            moved.body().setUserValue(index);
+        }
+        entities.remove(last);
+        entity.body().setUserValue(NOT_REGISTERED);
+        return true;
+    }
+
+    public int size()
+    {
+        return entities.size();
+    }
+
+    private int validate(btCollisionObject body, int index)
+    {
+        if (index < 0 || index >= entities.size()) return NOT_REGISTERED;
+        if (!entities.get(index).isBody(body)) return NOT_REGISTERED;
+        return index;
+    }
+}
@@ -0,0 +1,51 @@
+package com.jaxson.lib.gdx.bullet.simulation;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.btAxisSweep3;
+import com.badlogic.gdx.physics.bullet.collision.btBroadphaseInterface;
+import com.badlogic.gdx.physics.bullet.collision.btDbvtBroadphase;
+
+/**
+ * The broadphase used by a {@link BulletWorld}.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public enum BroadphaseType
+{
+    /**
+     * Sweep and prune over a fixed world size.
+     * Fast for bounded levels where few bodies move at once.
+     */
+    SweepAndPrune
+    {
+        @Override
+        public btBroadphaseInterface create(Vector3 minSize, Vector3 maxSize)
+        {
+            return new btAxisSweep3(minSize, maxSize);
+        }
+    },
+
+    /**
+     * Dynamic AABB tree.
+     * Has no world bounds and scales better when many bodies move.
+     */
+    DynamicTree
+    {
+        @Override
+        public btBroadphaseInterface create(Vector3 minSize, Vector3 maxSize)
+        {
+            return new btDbvtBroadphase();
+        }
+    };
+
+    public static final BroadphaseType DEFAULT = SweepAndPrune;
+
+    public abstract btBroadphaseInterface create(Vector3 minSize,
+            Vector3 maxSize);
+
+    public BroadphaseType next()
+    {
+        BroadphaseType[] types = values();
+        return types[(ordinal() + 1) % types.length];
+    }
+}
@@ -0,0 +1,250 @@
+package com.jaxson.lib.gdx.bullet.simulation;
+
+import java.util.Arrays;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.AllHitsRayResultCallback;
+import com.badlogic.gdx.physics.bullet.collision.ClosestRayResultCallback;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObjectConstArray;
+import com.badlogic.gdx.physics.bullet.linearmath.btScalarArray;
+import com.badlogic.gdx.physics.bullet.linearmath.btVector3Array;
+import com.badlogic.gdx.utils.Disposable;
+
+/**
+ * Resolves many rays against a {@link BulletWorld} without allocating.
+ * Rays are read from and hits are written to caller owned primitive arrays
+ * laid out as {@code x, y, z} triples.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class BulletRayBatch implements Disposable
+{
+    public static final int NO_HIT = BodyRegistry.NOT_REGISTERED;
+
+    private static final int STRIDE = 3;
+    private static final float CLOSEST_HIT_FRACTION = 1f;
+    private static final int CAPACITY = 16;
+
+    private ClosestRayResultCallback closest;
+    private AllHitsRayResultCallback allHits;
+    private btCollisionObjectConstArray allHitObjects;
+    private btScalarArray allHitFractions;
+    private btVector3Array allHitNormals;
+    private btVector3Array allHitPoints;
+    private Vector3 rayStart, rayEnd, temp;
+    private int[] order;
+    private float[] orderFractions;
+
+    protected BulletRayBatch()
+    {
+        this.rayStart = new Vector3();
+        this.rayEnd = new Vector3(Vector3.Y);
+        this.temp = new Vector3();
+        this.order = new int[CAPACITY];
+        this.orderFractions = new float[CAPACITY];
+        this.closest = new ClosestRayResultCallback(rayStart, rayEnd);
+        this.allHits = new AllHitsRayResultCallback(rayStart, rayEnd);
+        this.allHitObjects = allHits.getCollisionObjects();
+        this.allHitFractions = allHits.getHitFractions();
+        this.allHitNormals = allHits.getHitNormalWorld();
+        this.allHitPoints = allHits.getHitPointWorld();
+    }
+
+    /**
+     * Finds the closest hit of each ray.
+     * @param world The world
+     * @param origins Ray origins
+     * @param directions Normalized ray directions
+     * @param count The number of rays
+     * @param distance The length of each ray
+     * @param entities Receives the registry slot hit by each ray, or
+     * {@link #NO_HIT}
+     * @param fractions Receives the hit fraction of each ray, may be
+     * {@code null}
+     * @param points Receives the hit point of each ray, may be {@code null}
+     * @param normals Receives the hit normal of each ray, may be {@code null}
+     * @return {@link int} - The number of rays that hit a registered body
+     */
+    public int closest(BulletWorld world,
+            float[] origins,
+            float[] directions,
+            int count,
+            float distance,
+            int[] entities,
+            float[] fractions,
+            float[] points,
+            float[] normals)
+    {
+        int hits = 0;
+        for (int i = 0; i < count; i ++)
+        {
+            int offset = i * STRIDE;
+            set(origins, directions, offset, distance);
+            resetClosest();
+            world.rayTest(rayStart, rayEnd, closest);
+
+            int index = NO_HIT;
+            if (closest.hasHit())
+                index = world.registry().index(closest.getCollisionObject());
+            entities[i] = index;
+            if (index == NO_HIT)
+            {
+                if (fractions != null) fractions[i] = CLOSEST_HIT_FRACTION;
+                continue;
+            }
+            hits ++;
+            if (fractions != null)
+                fractions[i] = closest.getClosestHitFraction();
+            if (points != null)
+            {
+                closest.getHitPointWorld(temp);
+                write(points, offset, temp);
+            }
+            if (normals != null)
+            {
+                closest.getHitNormalWorld(temp);
+                write(normals, offset, temp);
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * Finds every hit of each ray, up to {@code maxHits} per ray.
+     * Hits of ray {@code i} are written nearest first starting at slot
+     * {@code i * maxHits}, so a capped ray keeps its nearest hits.
+     * @param world The world
+     * @param origins Ray origins
+     * @param directions Normalized ray directions
+     * @param count The number of rays
+     * @param distance The length of each ray
+     * @param maxHits The number of hits stored per ray
+     * @param hitCounts Receives the number of hits of each ray
+     * @param entities Receives the registry slot of each hit
+     * @param fractions Receives the hit fraction of each hit, may be
+     * {@code null}
+     * @param points Receives the hit point of each hit, may be {@code null}
+     * @param normals Receives the hit normal of each hit, may be {@code null}
+     * @return {@link int} - The total number of hits written
+     */
+    public int all(BulletWorld world,
+            float[] origins,
+            float[] directions,
+            int count,
+            float distance,
+            int maxHits,
+            int[] hitCounts,
+            int[] entities,
+            float[] fractions,
+            float[] points,
+            float[] normals)
+    {
+        int total = 0;
+        for (int i = 0; i < count; i ++)
+        {
+            set(origins, directions, i * STRIDE, distance);
+            resetAllHits();
+            world.rayTest(rayStart, rayEnd, allHits);
+
+            int written = Math.min(sort(world), maxHits);
+            for (int k = 0; k < written; k ++)
+            {
+                int j = order[k];
+                btCollisionObject body = allHitObjects.atConst(j);
+                int slot = i * maxHits + k;
+                float fraction = orderFractions[k];
+                entities[slot] = world.registry().index(body);
+                if (fractions != null) fractions[slot] = fraction;
+                if (points != null)
+                {
+                    temp.set(rayEnd).sub(rayStart).scl(fraction).add(rayStart);
+                    write(points, slot * STRIDE, temp);
+                }
+                if (normals != null)
+                    write(normals, slot * STRIDE, allHitNormals.atConst(j));
+            }
+            hitCounts[i] = written;
+            total += written;
+        }
+        return total;
+    }
+
+    @Override
+    public void dispose()
+    {
+        closest.dispose();
+        allHits.dispose();
+    }
+
+    private void resetAllHits()
+    {
+        allHitObjects.clear();
+        allHitFractions.clear();
+        allHitNormals.clear();
+        allHitPoints.clear();
+        allHits.setCollisionObject(null);
+        allHits.setClosestHitFraction(CLOSEST_HIT_FRACTION);
+        allHits.setRayFromWorld(rayStart);
+        allHits.setRayToWorld(rayEnd);
+    }
+
+    private void resetClosest()
+    {
+        closest.setCollisionObject(null);
+        closest.setClosestHitFraction(CLOSEST_HIT_FRACTION);
+        closest.setRayFromWorld(rayStart);
+        closest.setRayToWorld(rayEnd);
+    }
+
+    /**
+     * Orders the hits on registered bodies of the last ray by fraction.
+     * Bullet reports hits in broadphase order, not by distance.
+     */
+    private int sort(BulletWorld world)
+    {
+        int size = allHitObjects.size();
+        if (order.length < size)
+        {
+            order = Arrays.copyOf(order, size);
+            orderFractions = Arrays.copyOf(orderFractions, size);
+        }
+        int hits = 0;
+        for (int j = 0; j < size; j ++)
+        {
+            btCollisionObject body = allHitObjects.atConst(j);
+            if (world.registry().index(body) == NO_HIT) continue;
+            float fraction = allHitFractions.atConst(j);
+            int k = hits ++;
+            while (k > 0 && orderFractions[k - 1] > fraction)
+            {
+                order[k] = order[k - 1];
+                orderFractions[k] = orderFractions[k - 1];
+                k --;
+            }
+            order[k] = j;
+            orderFractions[k] = fraction;
+        }
+        return hits;
+    }
+
+    private void set(float[] origins,
+            float[] directions,
+            int offset,
+            float distance)
+    {
+        rayStart.set(origins[offset],
+                origins[offset + 1],
+                origins[offset + 2]);
+        rayEnd.set(directions[offset],
+                directions[offset + 1],
+                directions[offset + 2]);
+        rayEnd.scl(distance).add(rayStart);
+    }
+
+    private static void write(float[] values, int offset, Vector3 vector)
+    {
+        values[offset] = vector.x;
+        values[offset + 1] = vector.y;
+        values[offset + 2] = vector.z;
+    }
+}
@@ -0,0 +1,154 @@
+package com.jaxson.lib.gdx.bullet.simulation;
+
+import java.nio.ByteBuffer;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.EntityBody;
+
+/**
+ * Writes and reads the state of every body in a {@link BulletWorld}.
+ * The layout is a header followed by one fixed size record per body in
+ * registry order: the registry id, the world transform, the linear and
+ * angular velocity and the activation state. The ids are checked before
+ * anything is restored, so a world whose bodies changed is rejected instead
+ * of having state written onto the wrong bodies.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class BulletSnapshot
+{
+    public static final int MAGIC = 0x42534e50;
+    public static final int VERSION = 2;
+    public static final int HEADER_SIZE = 3 * Integer.SIZE / Byte.SIZE;
+    public static final int RECORD_SIZE = (16 + 3 + 3) * Float.SIZE / Byte.SIZE
+            + 2 * Integer.SIZE / Byte.SIZE;
+
+    private Matrix4 transform;
+    private Vector3 velocity;
+
+    protected BulletSnapshot()
+    {
+        this.transform = new Matrix4();
+        this.velocity = new Vector3();
+    }
+
+    /**
+     * Restores the state of every body.
+     * @param registry The bodies
+     * @param buffer The buffer to read from
+     * @throws IllegalArgumentException If the snapshot does not match the
+     * bodies
+     */
+    public void restore(BodyRegistry registry, ByteBuffer buffer)
+    {
+        if (buffer.getInt() != MAGIC)
+            throw new IllegalArgumentException("Not a snapshot");
+        if (buffer.getInt() != VERSION)
+            throw new IllegalArgumentException("Unsupported snapshot version");
+        int count = buffer.getInt();
+        if (count != registry.size())
+            throw new IllegalArgumentException("Snapshot has " + count
+                    + " bodies, world has " + registry.size());
+        int start = buffer.position();
+        for (int i = 0; i < count; i ++)
+        {
+            int id = buffer.getInt(start + i * RECORD_SIZE);
+            if (id != registry.id(i))
+                throw new IllegalArgumentException("Snapshot has body " + id
+                        + " in slot " + i + ", world has body "
+                        + registry.id(i));
+        }
+
+        for (int i = 0; i < count; i ++)
+        {
+            EntityBody entity = registry.get(i);
+            buffer.getInt();
+            btCollisionObject body = entity.body();
+            for (int j = 0; j < transform.val.length; j ++)
+            {
+                transform.val[j] = buffer.getFloat();
+            }
+            body.setWorldTransform(transform);
+            entity.transform().set(transform);
+
+            if (body instanceof btRigidBody)
+            {
+                btRigidBody rigidBody = (btRigidBody) body;
+                rigidBody.setInterpolationWorldTransform(transform);
+                rigidBody.clearForces();
+                read(buffer, velocity);
+                rigidBody.setLinearVelocity(velocity);
+                rigidBody.setInterpolationLinearVelocity(velocity);
+                read(buffer, velocity);
+                rigidBody.setAngularVelocity(velocity);
+                rigidBody.setInterpolationAngularVelocity(velocity);
+            }
+            else
+            {
+                buffer.position(buffer.position()
+                        + 6 * Float.SIZE / Byte.SIZE);
+            }
+            body.forceActivationState(buffer.getInt());
+            entity.resetInterpolation();
+        }
+    }
+
+    /**
+     * Gets the number of bytes a snapshot needs.
+     * @param registry The bodies
+     * @return {@link int} - The size in bytes
+     */
+    public int size(BodyRegistry registry)
+    {
+        return HEADER_SIZE + registry.size() * RECORD_SIZE;
+    }
+
+    /**
+     * Writes the state of every body.
+     * @param registry The bodies
+     * @param buffer The buffer to write to
+     */
+    public void snapshot(BodyRegistry registry, ByteBuffer buffer)
+    {
+        int count = registry.size();
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putInt(count);
+        for (int i = 0; i < count; i ++)
+        {
+            btCollisionObject body = registry.get(i).body();
+            buffer.putInt(registry.id(i));
+            body.getWorldTransform(transform);
+            for (float value: transform.val)
+            {
+                buffer.putFloat(value);
+            }
+            if (body instanceof btRigidBody)
+            {
+                btRigidBody rigidBody = (btRigidBody) body;
+                write(buffer, rigidBody.getLinearVelocity());
+                write(buffer, rigidBody.getAngularVelocity());
+            }
+            else
+            {
+                write(buffer, Vector3.Zero);
+                write(buffer, Vector3.Zero);
+            }
+            buffer.putInt(body.getActivationState());
+        }
+    }
+
+    private static void read(ByteBuffer buffer, Vector3 vector)
+    {
+        vector.set(buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+    }
+
+    private static void write(ByteBuffer buffer, Vector3 vector)
+    {
+        buffer.putFloat(vector.x);
+        buffer.putFloat(vector.y);
+        buffer.putFloat(vector.z);
+    }
+}
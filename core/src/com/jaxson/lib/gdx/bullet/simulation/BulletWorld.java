@@ -1,13 +1,14 @@
 package com.jaxson.lib.gdx.bullet.simulation;
 
+import java.nio.ByteBuffer;
 import com.badlogic.gdx.graphics.Camera;
 import com.jaxson.lib.gdx.backend.Game;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.Ray;
-import com.badlogic.gdx.physics.bullet.collision.ClosestRayResultCallback;
+import com.badlogic.gdx.physics.bullet.collision.RayResultCallback;
 import com.badlogic.gdx.physics.bullet.collision.CollisionConstants;
-import com.badlogic.gdx.physics.bullet.collision.btAxisSweep3;
+import com.badlogic.gdx.physics.bullet.collision.btBroadphaseInterface;
 import com.badlogic.gdx.physics.bullet.collision.btBroadphaseProxy;
 import com.badlogic.gdx.physics.bullet.collision.btCollisionDispatcher;
 import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
@@ -33,6 +34,7 @@ import com.jaxson.lib.gdx.math.GdxMath;
 import com.jaxson.lib.gdx.util.GameObject;
 import com.jaxson.lib.util.MyArrayList;
 import com.jaxson.lib.util.Optional;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
 
 public class BulletWorld extends GameObject
 {
@@ -61,6 +63,9 @@ public class BulletWorld extends GameObject
     protected static final int DISABLE_DEACTIVATION
             = CollisionConstants.DISABLE_DEACTIVATION;
 
+    protected static final float NANOS_TO_MILLIS = 1f / 1000000f;
+    protected static final float MILLIS_TO_NANOS = 1000000f;
+    protected static final float LOAD_BUDGET = 4f;
     protected static final float VECOTR_TO_MAX = 2f;
     protected static final float VECOTR_TO_MIN = -VECOTR_TO_MAX;
     protected static final Vector3 WORLD_SIZE = new Vector3(100f, 100f, 100f);
@@ -68,18 +73,30 @@ public class BulletWorld extends GameObject
             = new Vector3(0, -GdxMath.GRAVITY_EARTH, 0);
 
     private Game game;
-    private MyArrayList<EntityBody> objects;
+    private BodyRegistry registry;
+    private ActiveBodies activeBodies;
+    private SimulationRegions regions;
     private MyContactListener contactListener;
+    private ContactEvents contactEvents;
     private BulletDebug debug;
     private btDefaultCollisionConfiguration collisionConfig;
     private btCollisionDispatcher dispatcher;
-    private btAxisSweep3 broadphase;
+    private BroadphaseType broadphaseType;
+    private btBroadphaseInterface broadphase;
     private btSequentialImpulseConstraintSolver constraintSolver;
     private btSoftRigidDynamicsWorld world;
     private btSoftBodyWorldInfo worldInfo;
     private Vector3 worldSize;
+    private float stepTime;
     private BulletRay rayCallback;
+    private BulletRayBatch rayBatch;
+    private BulletSnapshot snapshot;
     private WorldImporter importer;
+    private MyArrayList<WorldLoad> loads;
+    private MyArrayList<WorldLoad> finishedLoads;
+    private float loadBudget;
+    private TargetCamera camera;
+    private Vector3 cameraFrom, cameraShift;
 
     private Keyboard keyboard;
     private TouchScreen touchScreen;
@@ -87,31 +104,60 @@ public class BulletWorld extends GameObject
 
     public BulletWorld(MyEnvironment environment, Game game)
     {
-        this(environment, game, WORLD_SIZE);
+        this(environment, game, BroadphaseType.DEFAULT);
+    }
+
+    public BulletWorld(MyEnvironment environment,
+            Game game,
+            BroadphaseType broadphaseType)
+    {
+        this(environment, game, WORLD_SIZE, broadphaseType);
     }
 
     public BulletWorld(MyEnvironment environment, Game game, Vector3 worldSize)
+    {
+        this(environment, game, worldSize, BroadphaseType.DEFAULT);
+    }
+
+    public BulletWorld(MyEnvironment environment,
+            Game game,
+            Vector3 worldSize,
+            BroadphaseType broadphaseType)
     {
         this(environment, game,
                 worldSize.cpy().scl(VECOTR_TO_MIN),
-                worldSize.scl(VECOTR_TO_MAX));
+                worldSize.cpy().scl(VECOTR_TO_MAX),
+                broadphaseType);
     }
 
     public BulletWorld(MyEnvironment environment,
             Game game,
             Vector3 minSize,
             Vector3 maxSize)
+    {
+        this(environment, game, minSize, maxSize, BroadphaseType.DEFAULT);
+    }
+
+    public BulletWorld(MyEnvironment environment,
+            Game game,
+            Vector3 minSize,
+            Vector3 maxSize,
+            BroadphaseType broadphaseType)
     {
         BulletStarter.init();
 
         this.game = game;
-        this.worldSize = maxSize.sub(minSize);
+        this.worldSize = maxSize.cpy().sub(minSize);
         environment.setWorldSize(worldSize);
-        this.objects = new MyArrayList<>();
-        this.contactListener = new MyContactListener();
+        this.registry = new BodyRegistry();
+        this.activeBodies = new ActiveBodies();
+        this.regions = new SimulationRegions();
+        this.contactEvents = new ContactEvents(registry);
+        this.contactListener = new MyContactListener(contactEvents);
         this.collisionConfig = new btDefaultCollisionConfiguration();
         this.dispatcher = new btCollisionDispatcher(collisionConfig);
-        this.broadphase = new btAxisSweep3(minSize, maxSize);
+        this.broadphaseType = broadphaseType;
+        this.broadphase = broadphaseType.create(minSize, maxSize);
         this.constraintSolver = new btSequentialImpulseConstraintSolver();
         this.world = new btSoftRigidDynamicsWorld(dispatcher,
                 broadphase,
@@ -119,6 +165,13 @@ public class BulletWorld extends GameObject
                 collisionConfig);
         this.debug = new BulletDebug(world);
         this.rayCallback = new BulletRay();
+        this.rayBatch = new BulletRayBatch();
+        this.snapshot = new BulletSnapshot();
+        this.loads = new MyArrayList<>();
+        this.finishedLoads = new MyArrayList<>();
+        this.loadBudget = LOAD_BUDGET;
+        this.cameraFrom = new Vector3();
+        this.cameraShift = new Vector3();
 
         this.worldInfo = new btSoftBodyWorldInfo();
         this.worldInfo.setBroadphase(broadphase);
@@ -147,8 +200,7 @@ public class BulletWorld extends GameObject
 
     public void add(PlayerBody entity)
     {
-        if (contains(entity)) return;
-        objects.add(entity);
+        if (!registry.add(entity)) return;
         entity.setCollisionFlags(CHARACTER_FLAG);
         broadphase.getOverlappingPairCache()
                 .setInternalGhostPairCallback(entity.callback());
@@ -157,6 +209,7 @@ public class BulletWorld extends GameObject
                 (short) CHARACTER_FILTER,
                 (short) (STATIC_FILTER | DEFAULT_FILTER));
         world.addAction(entity.characterController());
+        activeBodies.add(entity);
     }
 
     public void add(RigidBody entity)
@@ -166,12 +219,12 @@ public class BulletWorld extends GameObject
 
     public void add(RigidBody entity, int group, int mask)
     {
-        if (contains(entity)) return;
-        objects.add(entity);
+        if (!registry.add(entity)) return;
         entity.addCollisionFlag(CALLBACK_FLAG);
         world.addRigidBody(entity.body());
         entity.setContactCallbackFlag(group);
         entity.setContactCallbackFilter(mask);
+        activeBodies.add(entity);
     }
 
     public void add(SoftBody entity)
@@ -181,22 +234,52 @@ public class BulletWorld extends GameObject
 
     public void add(SoftBody entity, int group, int mask)
     {
-        if (contains(entity)) return;
-        objects.add(entity);
+        if (!registry.add(entity)) return;
         entity.addCollisionFlag(CALLBACK_FLAG);
         world.addSoftBody(entity.body());
         entity.setContactCallbackFlag(group);
         entity.setContactCallbackFilter(mask);
+        activeBodies.add(entity);
+    }
+
+    public ActiveBodies activeBodies()
+    {
+        return activeBodies;
     }
 
     public void add(TargetCamera camera)
     {
         camera.setWorld(this);
+        this.camera = camera;
+    }
+
+    public BroadphaseType broadphaseType()
+    {
+        return broadphaseType;
+    }
+
+    public TargetCamera camera()
+    {
+        return camera;
+    }
+
+    private EntityBody cameraTarget()
+    {
+        if (camera == null || !(camera.target() instanceof EntityBody))
+            return null;
+        EntityBody target = (EntityBody) camera.target();
+        if (!contains(target)) return null;
+        return target;
+    }
+
+    public ContactEvents contactEvents()
+    {
+        return contactEvents;
     }
 
     public boolean contains(EntityBody entity)
     {
-        return objects.contains(entity);
+        return registry.contains(entity);
     }
 
     @Override
@@ -206,17 +289,31 @@ public class BulletWorld extends GameObject
         worldInfo.dispose();
         world.dispose();
         if (importer != null) importer.dispose();
+        for (WorldLoad load: loads)
+        {
+            load.dispose();
+        }
+        for (WorldLoad load: finishedLoads)
+        {
+            load.dispose();
+        }
         contactListener.dispose();
         collisionConfig.dispose();
         dispatcher.dispose();
         broadphase.dispose();
         constraintSolver.dispose();
         rayCallback.dispose();
+        rayBatch.dispose();
     }
 
     public MyArrayList<EntityBody> entities()
     {
-        return objects;
+        return registry.entities();
+    }
+
+    public Optional<EntityBody> entity(btCollisionObject body)
+    {
+        return new Optional<>(registry.get(body));
     }
 
     public Vector3 gravity()
@@ -234,6 +331,24 @@ public class BulletWorld extends GameObject
         }
     }
 
+    /**
+     * Blends every awake body between its previous and current logic
+     * update.
+     * A tracking camera is moved along with its target.
+     * Undone by {@link #restoreTransforms()}.
+     * @param alpha How far between the two updates, from {@code 0} to
+     * {@code 1}
+     */
+    public void interpolate(float alpha)
+    {
+        EntityBody target = cameraTarget();
+        if (target != null) target.transform().getTranslation(cameraFrom);
+        activeBodies.interpolate(alpha);
+        if (target == null) return;
+        target.transform().getTranslation(cameraShift).sub(cameraFrom);
+        moveCamera(cameraShift);
+    }
+
     public MyArrayList<RigidBody> load(GdxFile file)
     {
         return load(file, 1f);
@@ -251,8 +366,51 @@ public class BulletWorld extends GameObject
         return importer.entities();
     }
 
+    public WorldLoad loadAsync(GdxFile file)
+    {
+        return loadAsync(file, 1f);
+    }
+
+    /**
+     * Loads a level without blocking.
+     * @param file The model file, the physics file is found next to it
+     * @param scale The scale of the level
+     * @return {@link WorldLoad} - The load in progress
+     */
+    public WorldLoad loadAsync(GdxFile file, float scale)
+    {
+        return loadAsync(file,
+                file.setExtension(WorldImporter.WORLD_EXTENSION),
+                scale);
+    }
+
+    /**
+     * Loads a level without blocking.
+     * Files are read on a background thread, bodies are added during
+     * {@link #update(float)} within the {@link #loadBudget()}.
+     * @param model The model file
+     * @param physics The physics file
+     * @param scale The scale of the level
+     * @return {@link WorldLoad} - The load in progress
+     */
+    public WorldLoad loadAsync(GdxFile model, GdxFile physics, float scale)
+    {
+        WorldLoad load = new WorldLoad(this, model, physics, scale);
+        loads.add(load);
+        return load;
+    }
+
+    /**
+     * Gets how long each update may spend adding loaded bodies.
+     * @return {@link float} - The budget in milliseconds
+     */
+    public float loadBudget()
+    {
+        return loadBudget;
+    }
+
     protected void rayTest(Vector3 rayStart,
-            Vector3 rayEnd, ClosestRayResultCallback callback)
+            Vector3 rayEnd, RayResultCallback callback)
     {
         world.rayTest(rayStart, rayEnd, callback);
     }
@@ -272,9 +430,7 @@ public class BulletWorld extends GameObject
         Optional<btCollisionObject> body
                 = rayCallback.collisionObject(ray, distance, this);
         if (!body.exists()) return new Optional<>();
-        for (EntityBody entity: objects)
-            if (entity.isBody(body.unwrap())) return new Optional<>(entity);
-        return new Optional<>();
+        return entity(body.unwrap());
     }
 
     public Optional<EntityBody> rayTrace(Vector2 location, Camera camera)
@@ -282,28 +438,78 @@ public class BulletWorld extends GameObject
         return rayTrace(location.x, location.y, camera);
     }
 
+    public int rayTraceAll(float[] origins,
+            float[] directions,
+            int count,
+            int[] entities)
+    {
+        return rayTraceAll(origins, directions, count,
+                BulletRay.MAX_DISTANCE, entities, null, null, null);
+    }
+
+    public int rayTraceAll(float[] origins,
+            float[] directions,
+            int count,
+            float distance,
+            int[] entities,
+            float[] fractions,
+            float[] points,
+            float[] normals)
+    {
+        return rayBatch.closest(this, origins, directions, count, distance,
+                entities, fractions, points, normals);
+    }
+
+    public int rayTraceAllHits(float[] origins,
+            float[] directions,
+            int count,
+            float distance,
+            int maxHits,
+            int[] hitCounts,
+            int[] entities,
+            float[] fractions,
+            float[] points,
+            float[] normals)
+    {
+        return rayBatch.all(this, origins, directions, count, distance,
+                maxHits, hitCounts, entities, fractions, points, normals);
+    }
+
+    private void moveCamera(Vector3 translation)
+    {
+        camera.translate(translation);
+        camera.update();
+    }
+
     public void remove(PlayerBody entity)
     {
         if (!contains(entity)) return;
-        objects.remove(entity);
+        contactEvents.remove(entity);
+        registry.remove(entity);
         broadphase.getOverlappingPairCache()
                 .setInternalGhostPairCallback(null);
         world.removeAction(entity.characterController());
         world.removeCollisionObject(entity.body());
+        activeBodies.remove(entity);
     }
 
     public void remove(RigidBody entity)
     {
         if (!contains(entity)) return;
-        objects.remove(entity);
+        contactEvents.remove(entity);
+        registry.remove(entity);
+        regions.remove(entity);
         world.removeRigidBody(entity.body());
+        activeBodies.remove(entity);
     }
 
     public void remove(SoftBody entity)
     {
         if (!contains(entity)) return;
-        objects.remove(entity);
+        contactEvents.remove(entity);
+        registry.remove(entity);
         world.removeSoftBody(entity.body());
+        activeBodies.remove(entity);
     }
 
     @Override
@@ -312,16 +518,112 @@ public class BulletWorld extends GameObject
         debug.render(view);
     }
 
+    /**
+     * Gets the regions bodies are simulated in.
+     * Every body is simulated until a radius is set.
+     * @return {@link SimulationRegions} - The regions
+     */
+    public SimulationRegions regions()
+    {
+        return regions;
+    }
+
+    public BodyRegistry registry()
+    {
+        return registry;
+    }
+
+    /**
+     * Restores every body from {@link #snapshot(ByteBuffer)}.
+     * The world must hold the same bodies it held when the snapshot was
+     * taken.
+     * @param buffer The buffer to read from
+     * @throws IllegalArgumentException If a body was added or removed since
+     * the snapshot was taken
+     */
+    public void restore(ByteBuffer buffer)
+    {
+        snapshot.restore(registry, buffer);
+    }
+
+    public void restoreTransforms()
+    {
+        activeBodies.restoreTransforms();
+        if (camera == null || cameraShift.isZero()) return;
+        moveCamera(cameraShift.scl(-1f));
+        cameraShift.setZero();
+    }
+
+    /**
+     * Stores the transform of every awake body at the start of a logic
+     * update.
+     */
+    public void saveTransforms()
+    {
+        activeBodies.saveTransforms();
+    }
+
     public void setGravity(Vector3 gravity)
     {
         world.setGravity(gravity);
     }
 
+    /**
+     * Sets how long each update may spend adding loaded bodies.
+     * At least one body is added per update.
+     * @param loadBudget The budget in milliseconds
+     */
+    public void setLoadBudget(float loadBudget)
+    {
+        if (loadBudget < 0f) throw new NegativeValueException("loadBudget");
+        this.loadBudget = loadBudget;
+    }
+
+    /**
+     * Writes the transform, velocity and activation state of every body.
+     * @param buffer The buffer to write to, needs
+     * {@link #snapshotSize()} bytes remaining
+     */
+    public void snapshot(ByteBuffer buffer)
+    {
+        snapshot.snapshot(registry, buffer);
+    }
+
+    public int snapshotSize()
+    {
+        return snapshot.size(registry);
+    }
+
     @Override
     public void update(float dt)
     {
         super.update(dt);
+        long budget = (long) (loadBudget * MILLIS_TO_NANOS);
+        for (int i = loads.size() - 1; i >= 0; i --)
+        {
+            WorldLoad load = loads.get(i);
+            if (!load.update(budget)) continue;
+            loads.remove(i);
+            finishedLoads.add(load);
+        }
+        long start = System.nanoTime();
+        regions.update(registry, cameraTarget());
+        activeBodies.beginStep();
+        contactEvents.startRecording();
         world.stepSimulation(dt, 1, game.config().stepInterval());
+        contactEvents.stopRecording();
+        activeBodies.endStep();
+        stepTime = (System.nanoTime() - start) * NANOS_TO_MILLIS;
+        contactEvents.dispatch();
+    }
+
+    /**
+     * Gets how long the last simulation step took.
+     * @return {@link float} - The step time in milliseconds
+     */
+    public float stepTime()
+    {
+        return stepTime;
     }
 
     public btSoftBodyWorldInfo worldInfo()
@@ -0,0 +1,34 @@
+package com.jaxson.lib.gdx.bullet.simulation;
+
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.EntityBody;
+
+/**
+ * Interface for receiving contacts of an {@link EntityBody}.
+ * Events are only sent when the contact callback filter of the body matches
+ * the contact callback flag of the other body.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public interface CollisionListener
+{
+    /**
+     * Called when two bodies start touching.
+     * @param body The body that was listened to
+     * @param other The body it touched
+     */
+    public void contactBegan(EntityBody body, EntityBody other);
+
+    /**
+     * Called when two bodies stop touching.
+     * @param body The body that was listened to
+     * @param other The body it touched
+     */
+    public void contactEnded(EntityBody body, EntityBody other);
+
+    /**
+     * Called each step two bodies stay touching.
+     * @param body The body that was listened to
+     * @param other The body it touches
+     */
+    public void contactPersisted(EntityBody body, EntityBody other);
+}
@@ -0,0 +1,347 @@
+package com.jaxson.lib.gdx.bullet.simulation;
+
+import java.util.Arrays;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.EntityBody;
+
+/**
+ * Buffers contacts of a {@link BulletWorld} during a step and sends them to
+ * {@link CollisionListener}s in one batch afterwards.
+ * Bullet only reports when a pair starts and stops touching, persisted
+ * contacts are generated from the pairs still touching. Touching pairs are
+ * found through an open addressed table keyed on both bodies, so ending a
+ * contact does not scan every pair.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class ContactEvents
+{
+    private static final int BEGAN = 0;
+    private static final int ENDED = 1;
+    private static final int MATCH_FIRST = 1;
+    private static final int MATCH_SECOND = 2;
+    private static final int CAPACITY = 64;
+    private static final int EMPTY = -1;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private BodyRegistry registry;
+    private boolean recording;
+
+    private int[] types;
+    private int[] firsts;
+    private int[] seconds;
+    private int[] matches;
+    private EntityBody[] firstBodies;
+    private EntityBody[] secondBodies;
+    private int size;
+
+    private EntityBody[] pairFirsts;
+    private EntityBody[] pairSeconds;
+    private int[] pairMatches;
+    private boolean[] pairFresh;
+    private int pairs;
+    private int[] pairTable;
+
+    public ContactEvents(BodyRegistry registry)
+    {
+        this.registry = registry;
+        this.types = new int[CAPACITY];
+        this.firsts = new int[CAPACITY];
+        this.seconds = new int[CAPACITY];
+        this.matches = new int[CAPACITY];
+        this.firstBodies = new EntityBody[CAPACITY];
+        this.secondBodies = new EntityBody[CAPACITY];
+        this.pairFirsts = new EntityBody[CAPACITY];
+        this.pairSeconds = new EntityBody[CAPACITY];
+        this.pairMatches = new int[CAPACITY];
+        this.pairFresh = new boolean[CAPACITY];
+        this.pairTable = new int[CAPACITY * 2];
+        Arrays.fill(pairTable, EMPTY);
+    }
+
+    protected void began(int first,
+            boolean matchFirst,
+            int second,
+            boolean matchSecond)
+    {
+        record(BEGAN, first, matchFirst, second, matchSecond);
+    }
+
+    public void clear()
+    {
+        size = 0;
+        for (int i = 0; i < pairs; i ++)
+        {
+            pairFirsts[i] = null;
+            pairSeconds[i] = null;
+        }
+        pairs = 0;
+        Arrays.fill(pairTable, EMPTY);
+    }
+
+    /**
+     * Sends every contact recorded in the last step to the listeners of the
+     * bodies involved.
+     */
+    public void dispatch()
+    {
+        int count = size;
+        size = 0;
+        for (int i = 0; i < count; i ++)
+        {
+            firstBodies[i] = entity(firsts[i]);
+            secondBodies[i] = entity(seconds[i]);
+        }
+        for (int i = 0; i < count; i ++)
+        {
+            EntityBody first = firstBodies[i];
+            EntityBody second = secondBodies[i];
+            firstBodies[i] = null;
+            secondBodies[i] = null;
+            if (first == null || second == null) continue;
+            if (types[i] == BEGAN)
+            {
+                addPair(first, second, matches[i]);
+                sendBegan(first, second, matches[i]);
+            }
+            else
+            {
+                int index = indexOf(first, second);
+                if (index == -1) continue;
+                removePair(index);
+                sendEnded(first, second, matches[i]);
+            }
+        }
+        for (int i = 0; i < pairs; i ++)
+        {
+            if (pairFresh[i])
+            {
+                pairFresh[i] = false;
+                continue;
+            }
+            sendPersisted(pairFirsts[i], pairSeconds[i], pairMatches[i]);
+        }
+    }
+
+    protected void ended(int first,
+            boolean matchFirst,
+            int second,
+            boolean matchSecond)
+    {
+        record(ENDED, first, matchFirst, second, matchSecond);
+    }
+
+    public boolean isRecording()
+    {
+        return recording;
+    }
+
+    public int pairs()
+    {
+        return pairs;
+    }
+
+    /**
+     * Ends every contact of a body that is leaving the world.
+     * @param entity The body
+     */
+    public void remove(EntityBody entity)
+    {
+        for (int i = pairs - 1; i >= 0; i --)
+        {
+            EntityBody first = pairFirsts[i];
+            EntityBody second = pairSeconds[i];
+            if (first != entity && second != entity) continue;
+            int match = pairMatches[i];
+            removePair(i);
+            sendEnded(first, second, match);
+        }
+    }
+
+    protected void startRecording()
+    {
+        recording = true;
+    }
+
+    protected void stopRecording()
+    {
+        recording = false;
+    }
+
+    private void addPair(EntityBody first, EntityBody second, int match)
+    {
+        if (pairs == pairFirsts.length)
+        {
+            int capacity = pairs * 2;
+            pairFirsts = Arrays.copyOf(pairFirsts, capacity);
+            pairSeconds = Arrays.copyOf(pairSeconds, capacity);
+            pairMatches = Arrays.copyOf(pairMatches, capacity);
+            pairFresh = Arrays.copyOf(pairFresh, capacity);
+            pairTable = new int[capacity * 2];
+            Arrays.fill(pairTable, EMPTY);
+            for (int i = 0; i < pairs; i ++)
+            {
+                insert(i);
+            }
+        }
+        pairFirsts[pairs] = first;
+        pairSeconds[pairs] = second;
+        pairMatches[pairs] = match;
+        pairFresh[pairs] = true;
+        insert(pairs);
+        pairs ++;
+    }
+
+    private EntityBody entity(int index)
+    {
+        if (index < 0 || index >= registry.size()) return null;
+        return registry.get(index);
+    }
+
+    /**
+     * Gets the table slot holding a pair.
+     */
+    private int find(EntityBody first, EntityBody second)
+    {
+        int mask = pairTable.length - 1;
+        for (int slot = hash(first, second); pairTable[slot] != EMPTY;
+                slot = (slot + 1) & mask)
+        {
+            int index = pairTable[slot];
+            if (pairFirsts[index] == first && pairSeconds[index] == second
+                    || pairFirsts[index] == second
+                            && pairSeconds[index] == first)
+                return slot;
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Hashes a pair the same way whichever body comes first.
+     */
+    private int hash(EntityBody first, EntityBody second)
+    {
+        int hash = (System.identityHashCode(first)
+                + System.identityHashCode(second)) * HASH_MULTIPLIER;
+        return (hash ^ hash >>> 16) & (pairTable.length - 1);
+    }
+
+    private int indexOf(EntityBody first, EntityBody second)
+    {
+        int slot = find(first, second);
+        if (slot == EMPTY) return -1;
+        return pairTable[slot];
+    }
+
+    private void insert(int index)
+    {
+        int mask = pairTable.length - 1;
+        int slot = hash(pairFirsts[index], pairSeconds[index]);
+        while (pairTable[slot] != EMPTY)
+        {
+            slot = (slot + 1) & mask;
+        }
+        pairTable[slot] = index;
+    }
+
+    private void record(int type,
+            int first,
+            boolean matchFirst,
+            int second,
+            boolean matchSecond)
+    {
+        if (!recording) return;
+        if (size == types.length)
+        {
+            int capacity = size * 2;
+            types = Arrays.copyOf(types, capacity);
+            firsts = Arrays.copyOf(firsts, capacity);
+            seconds = Arrays.copyOf(seconds, capacity);
+            matches = Arrays.copyOf(matches, capacity);
+            firstBodies = Arrays.copyOf(firstBodies, capacity);
+            secondBodies = Arrays.copyOf(secondBodies, capacity);
+        }
+        types[size] = type;
+        firsts[size] = first;
+        seconds[size] = second;
+        matches[size] = (matchFirst ? MATCH_FIRST : 0)
+                | (matchSecond ? MATCH_SECOND : 0);
+        size ++;
+    }
+
+    private void removePair(int index)
+    {
+        int last = pairs - 1;
+        unlink(slotOf(index));
+        if (index != last) pairTable[slotOf(last)] = index;
+        pairFirsts[index] = pairFirsts[last];
+        pairSeconds[index] = pairSeconds[last];
+        pairMatches[index] = pairMatches[last];
+        pairFresh[index] = pairFresh[last];
+        pairFirsts[last] = null;
+        pairSeconds[last] = null;
+        pairs = last;
+    }
+
+    /**
+     * Gets the table slot pointing at a pair index.
+     */
+    private int slotOf(int index)
+    {
+        int mask = pairTable.length - 1;
+        int slot = hash(pairFirsts[index], pairSeconds[index]);
+        while (pairTable[slot] != index)
+        {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Empties a table slot, shifting later entries of the same probe run
+     * back so every pair can still be found.
+     */
+    private void unlink(int slot)
+    {
+        int mask = pairTable.length - 1;
+        pairTable[slot] = EMPTY;
+        int next = slot;
+        while (true)
+        {
+            next = (next + 1) & mask;
+            int index = pairTable[next];
+            if (index == EMPTY) return;
+            int home = hash(pairFirsts[index], pairSeconds[index]);
+            boolean inPlace = slot <= next
+                    ? slot < home && home <= next
+                    : slot < home || home <= next;
+            if (inPlace) continue;
+            pairTable[slot] = index;
+            pairTable[next] = EMPTY;
+            slot = next;
+        }
+    }
+
+    private static void sendBegan(EntityBody first,
+            EntityBody second,
+            int match)
+    {
+        if ((match & MATCH_FIRST) != 0) first.contactBegan(second);
+        if ((match & MATCH_SECOND) != 0) second.contactBegan(first);
+    }
+
+    private static void sendEnded(EntityBody first,
+            EntityBody second,
+            int match)
+    {
+        if ((match & MATCH_FIRST) != 0) first.contactEnded(second);
+        if ((match & MATCH_SECOND) != 0) second.contactEnded(first);
+    }
+
+    private static void sendPersisted(EntityBody first,
+            EntityBody second,
+            int match)
+    {
+        if ((match & MATCH_FIRST) != 0) first.contactPersisted(second);
+        if ((match & MATCH_SECOND) != 0) second.contactPersisted(first);
+    }
+}
@@ -2,10 +2,14 @@ package com.jaxson.lib.gdx.bullet.simulation;
 
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.physics.bullet.linearmath.btMotionState;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.RigidBody;
 
 public class MotionState extends btMotionState
 {
     private Matrix4 transform;
+    private ActiveBodies activeBodies;
+    private RigidBody body;
+    private int slot;
 
     public MotionState(Matrix4 transform)
     {
@@ -19,14 +23,46 @@ public class MotionState extends btMotionState
         worldTransform.set(transform);
     }
 
+    protected boolean isTracked()
+    {
+        return activeBodies != null;
+    }
+
     @Override
     public void setWorldTransform(Matrix4 worldTransform)
     {
         transform.set(worldTransform);
+        if (isTracked()) activeBodies.moved(body);
+    }
+
+    protected void setSlot(int slot)
+    {
+        this.slot = slot;
+    }
+
+    /**
+     * Gets where the body is in the awake list of its {@link ActiveBodies}.
+     * @return {@link int} - The slot
+     */
+    protected int slot()
+    {
+        return slot;
+    }
+
+    protected void track(ActiveBodies activeBodies, RigidBody body)
+    {
+        this.activeBodies = activeBodies;
+        this.body = body;
     }
 
     protected Matrix4 transform()
     {
         return transform;
     }
+
+    protected void untrack()
+    {
+        this.activeBodies = null;
+        this.body = null;
+    }
 }
@@ -1,18 +1,32 @@
 package com.jaxson.lib.gdx.bullet.simulation;
 
 import com.badlogic.gdx.physics.bullet.collision.ContactListener;
-import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
 
 class MyContactListener extends ContactListener
 {
+    private ContactEvents events;
+
+    public MyContactListener(ContactEvents events)
+    {
+        super();
+        this.events = events;
+    }
+
+    @Override
+    public void onContactEnded(int userValue1,
+                               boolean match1,
+                               int userValue2,
+                               boolean match2)
+    {
+        events.ended(userValue1, match1, userValue2, match2);
+    }
+
     @Override
-    public boolean onContactAdded(btCollisionObject body1,
-                                  int part1,
-                                  int index1,
-                                  btCollisionObject body2,
-                                  int part2,
-                                  int index2)
+    public void onContactStarted(int userValue1,
+                                 boolean match1,
+                                 int userValue2,
+                                 boolean match2)
     {
-        return true;
+        events.began(userValue1, match1, userValue2, match2);
     }
 }
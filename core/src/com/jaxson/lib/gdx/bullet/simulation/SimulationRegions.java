@@ -0,0 +1,249 @@
+package com.jaxson.lib.gdx.bullet.simulation;
+
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.dynamics.btRigidBody;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.EntityBody;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.RigidBody;
+import com.jaxson.lib.util.MyArrayList;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * Freezes dynamic bodies far away from every focus point of a
+ * {@link BulletWorld}.
+ * Bodies further than the radius plus the hysteresis are switched to
+ * {@link EntityBody#DISABLE_SIMULATION}, and get their velocity and
+ * activation state back once they are inside the radius again.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class SimulationRegions
+{
+    /**
+     * Used in {@link #setRadius(float)} to simulate every body.
+     */
+    public static final float UNLIMITED = 0f;
+
+    private static final float HYSTERESIS = 5f;
+    private static final int INTERVAL = 10;
+    private static final int STATE = 6;
+
+    private float radius;
+    private float hysteresis;
+    private int interval;
+    private int steps;
+    private boolean followsTarget;
+    private MyArrayList<Vector3> focusPoints;
+    private Map<EntityBody, float[]> frozen;
+    private Vector3 target, velocity;
+
+    protected SimulationRegions()
+    {
+        this.radius = UNLIMITED;
+        this.hysteresis = HYSTERESIS;
+        this.interval = INTERVAL;
+        this.followsTarget = true;
+        this.focusPoints = new MyArrayList<>();
+        this.frozen = new IdentityHashMap<>();
+        this.target = new Vector3();
+        this.velocity = new Vector3();
+    }
+
+    /**
+     * Adds a point to simulate around.
+     * The point is read every check so it can be moved freely.
+     * @param point The point
+     */
+    public void addFocus(Vector3 point)
+    {
+        focusPoints.add(point);
+    }
+
+    public boolean followsTarget()
+    {
+        return followsTarget;
+    }
+
+    public int frozenCount()
+    {
+        return frozen.size();
+    }
+
+    public float hysteresis()
+    {
+        return hysteresis;
+    }
+
+    public int interval()
+    {
+        return interval;
+    }
+
+    public boolean isEnabled()
+    {
+        return radius != UNLIMITED;
+    }
+
+    public boolean isFrozen(EntityBody entity)
+    {
+        return frozen.containsKey(entity);
+    }
+
+    public float radius()
+    {
+        return radius;
+    }
+
+    protected void remove(EntityBody entity)
+    {
+        float[] state = frozen.remove(entity);
+        if (state != null) thaw(entity, state);
+    }
+
+    public void removeFocus(Vector3 point)
+    {
+        focusPoints.remove(point);
+    }
+
+    /**
+     * Sets whether the target of the camera is a focus point.
+     * @param followsTarget Whether to follow the target
+     */
+    public void setFollowsTarget(boolean followsTarget)
+    {
+        this.followsTarget = followsTarget;
+    }
+
+    /**
+     * Sets how much further than the radius a body has to be to freeze.
+     * Keeps bodies on the edge from switching every check.
+     * @param hysteresis The distance
+     */
+    public void setHysteresis(float hysteresis)
+    {
+        if (hysteresis < 0f) throw new NegativeValueException("hysteresis");
+        this.hysteresis = hysteresis;
+    }
+
+    /**
+     * Sets how many steps pass between checks.
+     * @param interval The number of steps
+     */
+    public void setInterval(int interval)
+    {
+        if (interval <= 0) throw new NegativeValueException("interval");
+        this.interval = interval;
+    }
+
+    /**
+     * Sets the distance bodies are simulated within.
+     * @param radius The radius or {@link #UNLIMITED}
+     */
+    public void setRadius(float radius)
+    {
+        if (radius < 0f) throw new NegativeValueException("radius");
+        this.radius = radius;
+    }
+
+    /**
+     * Thaws every frozen body.
+     */
+    public void thawAll()
+    {
+        Iterator<Map.Entry<EntityBody, float[]>> iterator
+                = frozen.entrySet().iterator();
+        while (iterator.hasNext())
+        {
+            Map.Entry<EntityBody, float[]> entry = iterator.next();
+            thaw(entry.getKey(), entry.getValue());
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Freezes and thaws bodies around the focus points.
+     * @param registry The bodies
+     * @param focus The target of the camera, may be {@code null}
+     */
+    protected void update(BodyRegistry registry, EntityBody focus)
+    {
+        if (!isEnabled())
+        {
+            if (!frozen.isEmpty()) thawAll();
+            return;
+        }
+        steps ++;
+        if (steps < interval) return;
+        steps = 0;
+
+        boolean hasTarget = followsTarget && focus != null;
+        if (hasTarget) focus.transform().getTranslation(target);
+        if (!hasTarget && focusPoints.isEmpty()) return;
+
+        float inside = radius * radius;
+        float outside = (radius + hysteresis) * (radius + hysteresis);
+        for (EntityBody entity: registry.entities())
+        {
+            if (!(entity instanceof RigidBody)) continue;
+            btRigidBody body = ((RigidBody) entity).body();
+            if (body.isStaticOrKinematicObject()) continue;
+
+            float distance = distance(entity.transform(), hasTarget);
+            float[] state = frozen.get(entity);
+            if (state == null)
+            {
+                if (distance > outside) freeze(entity, body);
+            }
+            else if (distance < inside)
+            {
+                thaw(entity, state);
+                frozen.remove(entity);
+            }
+        }
+    }
+
+    private float distance(Matrix4 transform, boolean hasTarget)
+    {
+        float x = transform.val[Matrix4.M03];
+        float y = transform.val[Matrix4.M13];
+        float z = transform.val[Matrix4.M23];
+        float nearest = Float.MAX_VALUE;
+        if (hasTarget) nearest = target.dst2(x, y, z);
+        for (Vector3 point: focusPoints)
+        {
+            nearest = Math.min(nearest, point.dst2(x, y, z));
+        }
+        return nearest;
+    }
+
+    private void freeze(EntityBody entity, btRigidBody body)
+    {
+        float[] state = new float[STATE + 1];
+        velocity.set(body.getLinearVelocity());
+        state[0] = velocity.x;
+        state[1] = velocity.y;
+        state[2] = velocity.z;
+        velocity.set(body.getAngularVelocity());
+        state[3] = velocity.x;
+        state[4] = velocity.y;
+        state[5] = velocity.z;
+        state[STATE] = body.getActivationState();
+        body.setLinearVelocity(Vector3.Zero);
+        body.setAngularVelocity(Vector3.Zero);
+        body.forceActivationState(EntityBody.DISABLE_SIMULATION);
+        frozen.put(entity, state);
+    }
+
+    private void thaw(EntityBody entity, float[] state)
+    {
+        btRigidBody body = (btRigidBody) entity.body();
+        int activationState = (int) state[STATE];
+        body.forceActivationState(activationState);
+        body.setLinearVelocity(velocity.set(state[0], state[1], state[2]));
+        body.setAngularVelocity(velocity.set(state[3], state[4], state[5]));
+        if (activationState != EntityBody.ISLAND_SLEEPING) body.activate();
+    }
+}
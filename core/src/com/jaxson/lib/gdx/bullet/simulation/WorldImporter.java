@@ -1,5 +1,6 @@
 package com.jaxson.lib.gdx.bullet.simulation;
 
+import java.nio.ByteBuffer;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
@@ -63,7 +64,7 @@ public class WorldImporter
         }
     }
 
-    private static final String WORLD_EXTENSION = "bullet";
+    protected static final String WORLD_EXTENSION = "bullet";
 
     public static final int NOT_IMPORTED = 0;
     public static final int IMPORTED = 1;
@@ -81,6 +82,20 @@ public class WorldImporter
         importer.loadFile(physics.getFileHandle());
     }
 
+    /**
+     * Constructs an importer from a model already in memory and the bytes of
+     * a physics file.
+     * @param model The model
+     * @param physics The physics file in a direct buffer
+     * @param world The world to add bodies to, {@code null} to leave adding
+     * them to the caller
+     */
+    public WorldImporter(Model model, ByteBuffer physics, btDynamicsWorld world)
+    {
+        this.importer = new WorldImporterHelper(world, model);
+        importer.loadFileFromMemory(physics, physics.capacity());
+    }
+
     public void dispose()
     {
         importer.deleteAllData();
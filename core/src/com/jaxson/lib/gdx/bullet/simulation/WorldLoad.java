@@ -0,0 +1,262 @@
+package com.jaxson.lib.gdx.bullet.simulation;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.RigidBody;
+import com.jaxson.lib.gdx.io.GdxFile;
+import com.jaxson.lib.util.MyArrayList;
+
+/**
+ * A level being loaded into a {@link BulletWorld}.
+ * The model and the physics file are read on a background thread, the
+ * bodies are then created and added to the world a few at a time on the
+ * game thread during {@link BulletWorld#update(float)}.
+ * Poll {@link #progress()} and {@link #isDone()} from the game thread,
+ * {@link #get()} blocks and must only be called from another thread or
+ * once the load is done.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class WorldLoad implements Future<MyArrayList<RigidBody>>
+{
+    private static final int READING = 0;
+    private static final int BUILDING = 1;
+    private static final int REGISTERING = 2;
+    private static final int DONE = 3;
+    private static final int FAILED = 4;
+    private static final int CANCELLED = 5;
+
+    private static final float READ_PROGRESS = 0.4f;
+    private static final float BUILD_PROGRESS = 0.5f;
+
+    private static AsyncExecutor executor;
+
+    private static AsyncExecutor executor()
+    {
+        if (executor == null) executor = new AsyncExecutor(1);
+        return executor;
+    }
+
+    private BulletWorld world;
+    private GdxFile modelFile, physicsFile;
+    private float scale;
+    private AsyncResult<Void> reading;
+    private ModelData modelData;
+    private Model model;
+    private ByteBuffer physics;
+    private WorldImporter importer;
+    private MyArrayList<RigidBody> entities;
+    private volatile int registered;
+    private volatile int stage;
+    private Throwable error;
+    private boolean finished;
+
+    protected WorldLoad(BulletWorld world,
+            GdxFile modelFile,
+            GdxFile physicsFile,
+            float scale)
+    {
+        this.world = world;
+        this.modelFile = modelFile;
+        this.physicsFile = physicsFile;
+        this.scale = scale;
+        this.stage = READING;
+        this.reading = executor().submit(new AsyncTask<Void>()
+        {
+            @Override
+            public Void call() throws Exception
+            {
+                read();
+                return null;
+            }
+        });
+    }
+
+    /**
+     * Cancels the load if no body has been added to the world yet.
+     * @param mayInterruptIfRunning Ignored, reading is never interrupted
+     * @return {@link boolean} - Whether the load was cancelled
+     */
+    @Override
+    public synchronized boolean cancel(boolean mayInterruptIfRunning)
+    {
+        if (stage != READING && stage != BUILDING) return false;
+        setStage(CANCELLED);
+        return true;
+    }
+
+    protected void dispose()
+    {
+        if (importer != null) importer.dispose();
+        importer = null;
+        if (model != null) model.dispose();
+        model = null;
+        if (reading.isDone()) release();
+    }
+
+    @Override
+    public synchronized MyArrayList<RigidBody> get()
+            throws InterruptedException, ExecutionException
+    {
+        while (!isDone())
+        {
+            wait();
+        }
+        return result();
+    }
+
+    @Override
+    public synchronized MyArrayList<RigidBody> get(long timeout,
+            TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException
+    {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isDone())
+        {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) throw new TimeoutException();
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return result();
+    }
+
+    @Override
+    public boolean isCancelled()
+    {
+        return stage == CANCELLED;
+    }
+
+    @Override
+    public boolean isDone()
+    {
+        return stage >= DONE;
+    }
+
+    /**
+     * Gets how far along the load is.
+     * @return {@link float} - The progress from {@code 0} to {@code 1}
+     */
+    public float progress()
+    {
+        switch (stage)
+        {
+            case READING:
+                return 0f;
+            case BUILDING:
+                return READ_PROGRESS;
+            case REGISTERING:
+                return BUILD_PROGRESS + (1f - BUILD_PROGRESS)
+                        * registered / Math.max(entities.size(), 1);
+            default:
+                return 1f;
+        }
+    }
+
+    /**
+     * Advances the load.
+     * The importer and the model are kept after finishing, they own the
+     * native bodies and the meshes until {@link #dispose()}.
+     * @param budget How long to spend adding bodies in nanoseconds
+     * @return {@link boolean} - Whether the load is finished
+     */
+    protected boolean update(long budget)
+    {
+        if (finished) return true;
+        try
+        {
+            if (stage == CANCELLED)
+            {
+                if (!reading.isDone()) return false;
+                release();
+                finished = true;
+                return true;
+            }
+            if (stage == READING)
+            {
+                if (!reading.isDone()) return false;
+                reading.get();
+                setStage(BUILDING);
+            }
+            if (stage == BUILDING) build();
+            if (stage == REGISTERING) register(budget);
+        }
+        catch (RuntimeException ex)
+        {
+            fail(ex);
+        }
+        finished = isDone();
+        return finished;
+    }
+
+    private void build()
+    {
+        model = new Model(modelData);
+        modelData = null;
+        importer = new WorldImporter(model, physics, null);
+        release();
+        entities = importer.entities();
+        setStage(REGISTERING);
+    }
+
+    private synchronized void fail(Throwable error)
+    {
+        this.error = error;
+        release();
+        setStage(FAILED);
+    }
+
+    private void read()
+    {
+        modelData = modelFile.readModelData();
+        byte[] bytes = physicsFile.readBytes();
+        physics = BufferUtils.newUnsafeByteBuffer(bytes.length);
+        physics.put(bytes);
+        physics.position(0);
+    }
+
+    private void register(long budget)
+    {
+        long start = System.nanoTime();
+        while (registered < entities.size())
+        {
+            RigidBody body = entities.get(registered);
+            world.add(body);
+            body.setScale(scale);
+            body.moveTo(body.location().scl(scale));
+            registered ++;
+            if (System.nanoTime() - start >= budget) break;
+        }
+        if (registered == entities.size()) setStage(DONE);
+    }
+
+    private void release()
+    {
+        modelData = null;
+        if (physics == null) return;
+        BufferUtils.disposeUnsafeByteBuffer(physics);
+        physics = null;
+    }
+
+    private MyArrayList<RigidBody> result() throws ExecutionException
+    {
+        if (stage == CANCELLED) throw new CancellationException();
+        if (stage == FAILED) throw new ExecutionException(error);
+        return entities;
+    }
+
+    private synchronized void setStage(int stage)
+    {
+        this.stage = stage;
+        notifyAll();
+    }
+}
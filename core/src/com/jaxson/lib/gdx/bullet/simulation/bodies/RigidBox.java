@@ -2,7 +2,7 @@ package com.jaxson.lib.gdx.bullet.simulation.bodies;
 
 import com.badlogic.gdx.graphics.Color;
 import com.jaxson.lib.gdx.bullet.simulation.bodies.types.RigidBody;
-import com.jaxson.lib.gdx.bullet.simulation.collision.BoxShape;
+import com.jaxson.lib.gdx.bullet.simulation.collision.ShapeCache;
 import com.jaxson.lib.gdx.bullet.simulation.collision.types.Shape;
 import com.jaxson.lib.gdx.graphics.g3d.entities.Box;
 
@@ -10,7 +10,7 @@ public class RigidBox extends RigidBody
 {
     protected static Shape getShape()
     {
-        return new BoxShape();
+        return ShapeCache.box();
     }
 
     public RigidBox()
@@ -2,6 +2,7 @@ package com.jaxson.lib.gdx.bullet.simulation.bodies;
 
 import com.badlogic.gdx.graphics.Color;
 import com.jaxson.lib.gdx.bullet.simulation.bodies.types.RigidBody;
+import com.jaxson.lib.gdx.bullet.simulation.collision.ShapeCache;
 import com.jaxson.lib.gdx.bullet.simulation.collision.SphereShape;
 import com.jaxson.lib.gdx.graphics.color.MyColor;
 import com.jaxson.lib.gdx.graphics.g3d.entities.Sphere;
@@ -12,7 +13,7 @@ public class RigidSphere extends RigidBody
 
     protected static SphereShape getShape()
     {
-        return new SphereShape();
+        return ShapeCache.sphere();
     }
 
     public RigidSphere()
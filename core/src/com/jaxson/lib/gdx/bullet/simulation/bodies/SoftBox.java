@@ -3,7 +3,7 @@ package com.jaxson.lib.gdx.bullet.simulation.bodies;
 import com.badlogic.gdx.graphics.Color;
 import com.jaxson.lib.gdx.bullet.simulation.BulletWorld;
 import com.jaxson.lib.gdx.bullet.simulation.bodies.types.SoftBody;
-import com.jaxson.lib.gdx.graphics.g3d.entities.Box;
+import com.jaxson.lib.gdx.graphics.g3d.util.MyModelBuilder;
 
 public class SoftBox extends SoftBody
 {
@@ -14,6 +14,7 @@ public class SoftBox extends SoftBody
 
     public SoftBox(Color color, BulletWorld world)
     {
-        super(new Box(color).modelInstance(), MASS, world);
+        // Soft bodies deform their mesh, so they can not share a primitive
+        super(new MyModelBuilder().createBox(color), MASS, world);
     }
 }
@@ -3,6 +3,7 @@ package com.jaxson.lib.gdx.bullet.simulation.bodies.types;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.jaxson.lib.gdx.bullet.simulation.collision.types.ConvexShape;
 import com.jaxson.lib.gdx.graphics.views.TargetCamera;
+import com.jaxson.lib.gdx.io.GdxFile;
 import com.jaxson.lib.util.Unwrapable;
 
 public class CameraPlayerBody extends PlayerBody
@@ -20,6 +21,17 @@ public class CameraPlayerBody extends PlayerBody
         this(model, fittedShape(model), camera);
     }
 
+    public CameraPlayerBody(Model model, GdxFile modelFile,
+            TargetCamera camera)
+    {
+        this(model, fittedShape(model, modelFile), camera);
+    }
+
+    public CameraPlayerBody(GdxFile modelFile, TargetCamera camera)
+    {
+        this(modelFile.readObject(), modelFile, camera);
+    }
+
     public CameraPlayerBody(Unwrapable<Model> model,
             ConvexShape shape,
             TargetCamera camera)
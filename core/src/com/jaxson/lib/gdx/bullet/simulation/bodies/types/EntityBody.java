@@ -3,10 +3,14 @@ package com.jaxson.lib.gdx.bullet.simulation.bodies.types;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.jaxson.lib.gdx.bullet.simulation.CollisionListener;
 import com.jaxson.lib.gdx.bullet.simulation.WorldImporter;
 import com.jaxson.lib.gdx.graphics.g3d.entities.types.AnimatedEntity;
+import com.jaxson.lib.util.MyArrayList;
 import com.jaxson.lib.util.Optional;
 
 public abstract class EntityBody<B extends btCollisionObject>
@@ -23,6 +27,13 @@ public abstract class EntityBody<B extends btCollisionObject>
 
     private float mass;
     private B body;
+    private Matrix4 previousTransform;
+    private Matrix4 currentTransform;
+    private boolean interpolated;
+    private boolean sleeping;
+    private MyArrayList<CollisionListener> collisionListeners;
+    private Vector3 previousLocation, currentLocation, currentScale;
+    private Quaternion previousRotation, currentRotation;
 
     public EntityBody(Model model, B body, float mass)
     {
@@ -38,6 +49,13 @@ public abstract class EntityBody<B extends btCollisionObject>
     {
         super(modelInstance);
         this.mass = mass;
+        this.previousTransform = new Matrix4(transform());
+        this.currentTransform = new Matrix4();
+        this.previousLocation = new Vector3();
+        this.currentLocation = new Vector3();
+        this.currentScale = new Vector3();
+        this.previousRotation = new Quaternion();
+        this.currentRotation = new Quaternion();
         setBody(body);
     }
 
@@ -57,6 +75,13 @@ public abstract class EntityBody<B extends btCollisionObject>
         setCollisionFlags(collisionFlags() | flag);
     }
 
+    public void addCollisionListener(CollisionListener listener)
+    {
+        if (collisionListeners == null)
+            collisionListeners = new MyArrayList<>();
+        collisionListeners.add(listener);
+    }
+
     public B body()
     {
         return body;
@@ -72,6 +97,15 @@ public abstract class EntityBody<B extends btCollisionObject>
         return body().getCollisionFlags();
     }
 
+    public void contactBegan(EntityBody other)
+    {
+        if (!hasCollisionListeners()) return;
+        for (CollisionListener listener: collisionListeners)
+        {
+            listener.contactBegan(this, other);
+        }
+    }
+
     public int contactCallbackFilter()
     {
         return body().getContactCallbackFilter();
@@ -82,6 +116,24 @@ public abstract class EntityBody<B extends btCollisionObject>
         return body().getContactCallbackFlag();
     }
 
+    public void contactEnded(EntityBody other)
+    {
+        if (!hasCollisionListeners()) return;
+        for (CollisionListener listener: collisionListeners)
+        {
+            listener.contactEnded(this, other);
+        }
+    }
+
+    public void contactPersisted(EntityBody other)
+    {
+        if (!hasCollisionListeners()) return;
+        for (CollisionListener listener: collisionListeners)
+        {
+            listener.contactPersisted(this, other);
+        }
+    }
+
     public void deactivate()
     {
         body().setActivationState(DISABLE_SIMULATION);
@@ -94,11 +146,62 @@ public abstract class EntityBody<B extends btCollisionObject>
         body.dispose();
     }
 
+    public boolean hasCollisionListeners()
+    {
+        return collisionListeners != null && !collisionListeners.isEmpty();
+    }
+
+    /**
+     * Blends the transform between the previous and current logic update.
+     * The current transform is restored by {@link #restoreTransform()}.
+     * @param alpha How far between the two updates, from {@code 0} to
+     * {@code 1}
+     */
+    public void interpolate(float alpha)
+    {
+        if (interpolated) return;
+        currentTransform.set(transform());
+        interpolated = true;
+        if (alpha >= 1f) return;
+
+        previousTransform.getTranslation(previousLocation);
+        previousTransform.getRotation(previousRotation, true);
+        currentTransform.getTranslation(currentLocation);
+        currentTransform.getRotation(currentRotation, true);
+        currentTransform.getScale(currentScale);
+        previousLocation.lerp(currentLocation, alpha);
+        previousRotation.slerp(currentRotation, alpha);
+        transform().set(previousLocation, previousRotation, currentScale);
+    }
+
     public boolean isBody(btCollisionObject body)
     {
         return body().equals(body);
     }
 
+    /**
+     * Gets whether the body has no mass and is not moved kinematically.
+     * Call {@link com.jaxson.lib.gdx.backend.objects.Models#updateStatic}
+     * after changing the flags or mass of a body already drawn, the states
+     * do so when applying physics.
+     * @return {@link boolean} - Whether the body is static
+     */
+    @Override
+    public boolean isStatic()
+    {
+        return body().isStaticObject() && !body().isKinematicObject();
+    }
+
+    /**
+     * Gets whether Bullet has put the body to sleep.
+     * Kept in sync by the world, so reading it does not cross into Bullet.
+     * @return {@link boolean} - Whether the body is sleeping
+     */
+    public boolean isSleeping()
+    {
+        return sleeping;
+    }
+
     public float mass()
     {
         return mass;
@@ -111,6 +214,28 @@ public abstract class EntityBody<B extends btCollisionObject>
         transformToBody();
     }
 
+    public void removeCollisionListener(CollisionListener listener)
+    {
+        if (collisionListeners == null) return;
+        collisionListeners.remove(listener);
+    }
+
+    /**
+     * Stops the next frames from blending from the old transform.
+     * Call after teleporting the body.
+     */
+    public void resetInterpolation()
+    {
+        saveTransform();
+    }
+
+    public void restoreTransform()
+    {
+        if (!interpolated) return;
+        transform().set(currentTransform);
+        interpolated = false;
+    }
+
     @Override
     public void rotate(float yaw, float pitch, float roll)
     {
@@ -118,11 +243,24 @@ public abstract class EntityBody<B extends btCollisionObject>
         transformToBody();
     }
 
+    /**
+     * Stores the transform at the start of a logic update.
+     */
+    public void saveTransform()
+    {
+        previousTransform.set(transform());
+    }
+
     public void setActivationState(int state)
     {
         body().setActivationState(state);
     }
 
+    public void setSleeping(boolean sleeping)
+    {
+        this.sleeping = sleeping;
+    }
+
     protected void setBody(B body)
     {
         this.body = body;
@@ -157,6 +295,7 @@ public abstract class EntityBody<B extends btCollisionObject>
 
     protected void transformToBody()
     {
+        if (isSleeping()) saveTransform();
         body().setWorldTransform(transform());
     }
 
@@ -12,6 +12,7 @@ import com.jaxson.lib.gdx.input.Inputs;
 import com.jaxson.lib.gdx.input.Keyboard;
 import com.jaxson.lib.gdx.input.KeyboardKey;
 import com.jaxson.lib.gdx.input.TouchScreen;
+import com.jaxson.lib.gdx.io.GdxFile;
 import com.jaxson.lib.math.MyMath;
 import com.jaxson.lib.math.Reciprocal;
 import com.jaxson.lib.util.Printer;
@@ -79,6 +80,16 @@ public abstract class PlayerBody
         this(model, fittedShape(model));
     }
 
+    public PlayerBody(Model model, GdxFile modelFile)
+    {
+        this(model, fittedShape(model, modelFile));
+    }
+
+    public PlayerBody(GdxFile modelFile)
+    {
+        this(modelFile.readObject(), modelFile);
+    }
+
     public PlayerBody(Model model, ConvexShape shape)
     {
         super(model, new btPairCachingGhostObject(), shape, GHOST_MASS);
@@ -441,6 +452,7 @@ public abstract class PlayerBody
     public void reset()
     {
         moveTo(Vector3.Zero);
+        resetInterpolation();
         velocityPerTick().setZero();
         direction.setZero();
     }
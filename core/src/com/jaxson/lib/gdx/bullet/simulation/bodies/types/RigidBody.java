@@ -149,12 +149,14 @@ public class RigidBody extends ShapeBody<btRigidBody, Shape>
         setRotation(0f, 0f, 0f);
         setLinearVelocity(Vector3.Zero);
         setAngularVelocity(Vector3.Zero);
+        resetInterpolation();
     }
 
     @Override
     public void update(float dt)
     {
         super.update(dt);
+        if (isSleeping()) return;
 
         float velocity = linearVelocity().y;
 
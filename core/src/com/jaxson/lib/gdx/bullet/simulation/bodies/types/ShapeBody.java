@@ -6,10 +6,12 @@ import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
 import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
 import com.jaxson.lib.gdx.bullet.simulation.collision.BoxShape;
+import com.jaxson.lib.gdx.bullet.simulation.collision.HullCache;
+import com.jaxson.lib.gdx.bullet.simulation.collision.ShapeCache;
 import com.jaxson.lib.gdx.bullet.simulation.collision.SphereShape;
 import com.jaxson.lib.gdx.bullet.simulation.collision.types.ConvexHullShape;
 import com.jaxson.lib.gdx.bullet.simulation.collision.types.Shape;
-import com.jaxson.lib.util.Optional;
+import com.jaxson.lib.gdx.io.GdxFile;
 
 public abstract class ShapeBody<B extends btCollisionObject, S extends Shape>
         extends EntityBody<B>
@@ -25,6 +27,12 @@ public abstract class ShapeBody<B extends btCollisionObject, S extends Shape>
         return new ConvexHullShape(model);
     }
 
+    protected static ConvexHullShape fittedShape(Model model,
+            GdxFile modelFile)
+    {
+        return new ConvexHullShape(model, HullCache.hullFile(modelFile));
+    }
+
     private S shape;
 
     public ShapeBody(Model model, B body, S shape)
@@ -84,7 +92,11 @@ public abstract class ShapeBody<B extends btCollisionObject, S extends Shape>
 
     public void setCollisionShape(S shape)
     {
-        if (new Optional<>(shape).equals(shape())) return;
+        if (shape == shape())
+        {
+            if (shape.isCached()) shape.dispose();
+            return;
+        }
         Shape oldShape = shape();
         this.shape = shape;
         body().setCollisionShape(shape.bulletShape());
@@ -96,14 +108,22 @@ public abstract class ShapeBody<B extends btCollisionObject, S extends Shape>
         setCollisionShapeScale(new Vector3(scale, scale, scale));
     }
 
+    @SuppressWarnings("unchecked")
     public void setCollisionShapeScale(Vector3 scale)
     {
+        if (shape().isCached())
+        {
+            if (shape().scale().equals(scale)) return;
+            setCollisionShape((S) ShapeCache.scaled(shape(), scale));
+            return;
+        }
         shape().setScale(scale);
     }
 
     public void reset()
     {
         moveTo(Vector3.Zero);
+        resetInterpolation();
     }
 
     public S shape()
@@ -1,6 +1,7 @@
 package com.jaxson.lib.gdx.bullet.simulation.bodies.types;
 
 import java.nio.ShortBuffer;
+import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.VertexAttributes.Usage;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
@@ -34,11 +35,18 @@ public abstract class SoftBody extends EntityBody<btSoftBody>
                 0);
     }
 
+    private static final float[] SYNC_DISTANCES = { 15f, 40f, 80f };
+    private static final int[] SYNC_INTERVALS = { 1, 2, 4, 8 };
+
     private ShortBuffer indexMap;
     private MeshPart meshPart;
     private int positionOffset;
 
     private int normalOffset;
+    private BulletWorld world;
+    private boolean synced;
+    private int syncCounter;
+    private Vector3 aabbMin, aabbMax, center, dimensions;
 
     public SoftBody(Model model, BulletWorld world)
     {
@@ -53,6 +61,11 @@ public abstract class SoftBody extends EntityBody<btSoftBody>
     public SoftBody(ModelInstance modelInstance, float mass, BulletWorld world)
     {
         super(modelInstance, getBody(modelInstance.model, world), mass);
+        this.world = world;
+        this.aabbMin = new Vector3();
+        this.aabbMax = new Vector3();
+        this.center = new Vector3();
+        this.dimensions = new Vector3();
         body().setMass(0, 0);
         meshPart = modelInstance.model.nodes.get(0).parts.get(0).meshPart;
         meshPart.mesh.scale(0.45f, 0.45f, 0.45f);
@@ -89,8 +102,36 @@ public abstract class SoftBody extends EntityBody<btSoftBody>
         super.dispose();
     }
 
-    @Override
-    public void update(float dt)
+    /**
+     * Gets whether the mesh should be updated from the body.
+     * Sleeping and culled bodies keep their last mesh, far away bodies are
+     * updated less often.
+     * @return {@link boolean} - Whether to sync the vertices
+     */
+    protected boolean needsSync()
+    {
+        if (!synced) return true;
+        if (!body().isActive()) return false;
+        Camera camera = world.camera();
+        if (camera == null) return true;
+
+        body().getAabb(aabbMin, aabbMax);
+        center.set(aabbMin).add(aabbMax).scl(0.5f);
+        dimensions.set(aabbMax).sub(aabbMin);
+        if (!camera.frustum.boundsInFrustum(center, dimensions)) return false;
+
+        syncCounter ++;
+        if (syncCounter < syncInterval(camera.position.dst(center)))
+            return false;
+        syncCounter = 0;
+        return true;
+    }
+
+    /**
+     * Copies the simulated vertices into the mesh.
+     * Touching the vertex buffer makes the mesh upload on its next bind.
+     */
+    public void sync()
     {
         body().getVertices(
                 meshPart.mesh.getVerticesBuffer(),
@@ -99,5 +140,22 @@ public abstract class SoftBody extends EntityBody<btSoftBody>
                 meshPart.offset, meshPart.size,
                 indexMap, 0);
         bodyToTransform();
+        invalidateBounds();
+        synced = true;
+    }
+
+    private static int syncInterval(float distance)
+    {
+        for (int i = 0; i < SYNC_DISTANCES.length; i ++)
+        {
+            if (distance < SYNC_DISTANCES[i]) return SYNC_INTERVALS[i];
+        }
+        return SYNC_INTERVALS[SYNC_DISTANCES.length];
+    }
+
+    @Override
+    public void update(float dt)
+    {
+        if (needsSync()) sync();
     }
 }
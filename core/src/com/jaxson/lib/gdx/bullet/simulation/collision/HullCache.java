@@ -0,0 +1,314 @@
+package com.jaxson.lib.gdx.bullet.simulation.collision;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.btConvexHullShape;
+import com.badlogic.gdx.physics.bullet.collision.btShapeHull;
+import com.jaxson.lib.gdx.io.GdxFile;
+
+/**
+ * Caches the reduced points of convex hulls.
+ * Hulls are looked up by model first and by the content of the mesh
+ * second, and can be stored in a file next to the model so later loads skip
+ * building the hull entirely. Internal and classpath files are read-only, so
+ * the hulls of those models are written to local storage instead.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public final class HullCache
+{
+    /**
+     * Used in {@link #setVertexTarget(int)} to keep every point of the hull.
+     */
+    public static final int NO_TARGET = 0;
+
+    public static final String EXTENSION = "hull";
+
+    private static final String TAG = HullCache.class.getSimpleName();
+
+    private static final int MAGIC = 0x48554c4c;
+    private static final int VERSION = 1;
+    private static final int STRIDE = 3;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static Map<Model, float[]> models = new WeakHashMap<>();
+    private static Map<Long, float[]> contents = new HashMap<>();
+    private static int vertexTarget = NO_TARGET;
+
+    private HullCache()
+    {
+
+    }
+
+    public static void clear()
+    {
+        models.clear();
+        contents.clear();
+    }
+
+    /**
+     * Builds a hull shape from cached points.
+     * @param points The hull points as {@code x, y, z} triples
+     * @return {@link btConvexHullShape} - The hull shape
+     */
+    public static btConvexHullShape create(float[] points)
+    {
+        btConvexHullShape shape = new btConvexHullShape();
+        Vector3 point = new Vector3();
+        for (int i = 0; i < points.length; i += STRIDE)
+        {
+            point.set(points[i], points[i + 1], points[i + 2]);
+            shape.addPoint(point, false);
+        }
+        shape.recalcLocalAabb();
+        return shape;
+    }
+
+    /**
+     * Gets the file the hull of a model is stored in.
+     * @param modelFile The model file
+     * @return {@link GdxFile} - The hull file next to the model
+     */
+    public static GdxFile hullFile(GdxFile modelFile)
+    {
+        return modelFile.setExtension(EXTENSION);
+    }
+
+    /**
+     * Gets the reduced hull points of a model.
+     * @param model The model
+     * @return {@link float[]} - The hull points as {@code x, y, z} triples
+     */
+    public static float[] points(Model model)
+    {
+        return points(model, null);
+    }
+
+    /**
+     * Gets the reduced hull points of a model.
+     * Reads them from the hull file when it matches the mesh and writes them
+     * to it after building the hull, see {@link #writable(GdxFile)}.
+     * @param model The model
+     * @param hullFile The hull file, may be {@code null}
+     * @return {@link float[]} - The hull points as {@code x, y, z} triples
+     */
+    public static float[] points(Model model, GdxFile hullFile)
+    {
+        float[] points = models.get(model);
+        if (points != null) return points;
+
+        float[] positions = positions(model.meshes.get(0));
+        long hash = hash(positions);
+        points = contents.get(hash);
+        GdxFile cacheFile = hullFile == null ? null : writable(hullFile);
+        if (points == null && hullFile != null) points = read(hullFile, hash);
+        if (points == null && cacheFile != hullFile)
+            points = read(cacheFile, hash);
+        if (points == null)
+        {
+            points = build(positions);
+            if (cacheFile != null) write(cacheFile, hash, points);
+        }
+        contents.put(hash, points);
+        models.put(model, points);
+        return points;
+    }
+
+    /**
+     * Sets how many points a hull is reduced to.
+     * Changing the target empties the cache.
+     * @param target The number of points or {@link #NO_TARGET}
+     */
+    public static void setVertexTarget(int target)
+    {
+        if (target == vertexTarget) return;
+        vertexTarget = Math.max(target, NO_TARGET);
+        clear();
+    }
+
+    public static int vertexTarget()
+    {
+        return vertexTarget;
+    }
+
+    /**
+     * Gets where a hull file can be written.
+     * @param hullFile The hull file
+     * @return {@link GdxFile} - The hull file, or the same path in local
+     * storage when the hull file is read-only
+     */
+    public static GdxFile writable(GdxFile hullFile)
+    {
+        FileType type = hullFile.getType();
+        if (type != FileType.Internal && type != FileType.Classpath)
+            return hullFile;
+        return hullFile.setFileType(FileType.Local);
+    }
+
+    private static float[] build(float[] positions)
+    {
+        btConvexHullShape shape = create(positions);
+        btShapeHull hull = new btShapeHull(shape);
+        hull.buildHull(shape.getMargin());
+        btConvexHullShape reduced = new btConvexHullShape(hull);
+
+        int count = reduced.getNumPoints();
+        float[] points = new float[count * STRIDE];
+        for (int i = 0; i < count; i ++)
+        {
+            Vector3 point = reduced.getScaledPoint(i);
+            points[i * STRIDE] = point.x;
+            points[i * STRIDE + 1] = point.y;
+            points[i * STRIDE + 2] = point.z;
+        }
+        reduced.dispose();
+        hull.dispose();
+        shape.dispose();
+        return simplify(points);
+    }
+
+    private static void error(String message, Exception ex)
+    {
+        if (Gdx.app != null) Gdx.app.error(TAG, message, ex);
+    }
+
+    private static long hash(float[] positions)
+    {
+        long hash = FNV_OFFSET;
+        for (float position: positions)
+        {
+            hash ^= Float.floatToIntBits(position);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private static float[] positions(Mesh mesh)
+    {
+        int stride = mesh.getVertexSize() / 4;
+        VertexAttribute attribute = mesh.getVertexAttribute(Usage.Position);
+        int offset = attribute == null ? 0 : attribute.offset / 4;
+        int count = mesh.getNumVertices();
+        float[] vertices = mesh.getVertices(new float[count * stride]);
+        float[] positions = new float[count * STRIDE];
+        for (int i = 0; i < count; i ++)
+        {
+            int vertex = i * stride + offset;
+            positions[i * STRIDE] = vertices[vertex];
+            positions[i * STRIDE + 1] = vertices[vertex + 1];
+            positions[i * STRIDE + 2] = vertices[vertex + 2];
+        }
+        return positions;
+    }
+
+    private static float[] read(GdxFile file, long hash)
+    {
+        if (!file.exists()) return null;
+        try
+        {
+            DataInputStream input = new DataInputStream(
+                    new ByteArrayInputStream(file.readBytes()));
+            if (input.readInt() != MAGIC) return null;
+            if (input.readInt() != VERSION) return null;
+            if (input.readLong() != hash) return null;
+            if (input.readInt() != vertexTarget) return null;
+            float[] points = new float[input.readInt() * STRIDE];
+            for (int i = 0; i < points.length; i ++)
+            {
+                points[i] = input.readFloat();
+            }
+            return points;
+        }
+        catch (Exception ex)
+        {
+            error("Could not read hull file " + file, ex);
+            return null;
+        }
+    }
+
+    /**
+     * Keeps the point furthest along evenly spread directions until the
+     * target is met.
+     */
+    private static float[] simplify(float[] points)
+    {
+        int count = points.length / STRIDE;
+        if (vertexTarget == NO_TARGET || count <= vertexTarget) return points;
+
+        boolean[] kept = new boolean[count];
+        int keptCount = 0;
+        for (int i = 0; i < vertexTarget; i ++)
+        {
+            float y = 1f - (i + 0.5f) * 2f / vertexTarget;
+            float radius = (float) Math.sqrt(1f - y * y);
+            float angle = i * MathUtils.PI * (3f - (float) Math.sqrt(5f));
+            float x = MathUtils.cos(angle) * radius;
+            float z = MathUtils.sin(angle) * radius;
+
+            int best = 0;
+            float bestDot = -Float.MAX_VALUE;
+            for (int j = 0; j < count; j ++)
+            {
+                float dot = points[j * STRIDE] * x
+                        + points[j * STRIDE + 1] * y
+                        + points[j * STRIDE + 2] * z;
+                if (dot > bestDot)
+                {
+                    bestDot = dot;
+                    best = j;
+                }
+            }
+            if (kept[best]) continue;
+            kept[best] = true;
+            keptCount ++;
+        }
+
+        float[] simplified = new float[keptCount * STRIDE];
+        int index = 0;
+        for (int i = 0; i < count; i ++)
+        {
+            if (!kept[i]) continue;
+            System.arraycopy(points, i * STRIDE, simplified, index, STRIDE);
+            index += STRIDE;
+        }
+        return simplified;
+    }
+
+    private static void write(GdxFile file, long hash, float[] points)
+    {
+        try
+        {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream output = new DataOutputStream(bytes);
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(hash);
+            output.writeInt(vertexTarget);
+            output.writeInt(points.length / STRIDE);
+            for (float point: points)
+            {
+                output.writeFloat(point);
+            }
+            output.flush();
+            file.getFileHandle().writeBytes(bytes.toByteArray(), false);
+        }
+        catch (Exception ex)
+        {
+            error("Could not write hull file " + file, ex);
+        }
+    }
+}
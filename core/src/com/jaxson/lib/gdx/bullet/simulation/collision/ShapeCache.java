@@ -0,0 +1,214 @@
+package com.jaxson.lib.gdx.bullet.simulation.collision;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import com.badlogic.gdx.math.Vector3;
+import com.jaxson.lib.gdx.bullet.simulation.collision.types.Shape;
+
+/**
+ * Shares collision {@link Shape}s between bodies.
+ * Shapes are interned by type, dimensions and scale and are reference
+ * counted. Disposing a cached shape releases one reference, the native
+ * shape is freed with the last one. A cached shape must never be scaled in
+ * place, ask for a {@link #scaled(Shape, Vector3)} copy instead.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public final class ShapeCache
+{
+    private static final int BOX = 0;
+    private static final int SPHERE = 1;
+    private static final Vector3 BOX_SIZE = new Vector3(1f, 1f, 1f);
+    private static final Vector3 SCALE = new Vector3(1f, 1f, 1f);
+    private static final float RADIUS = 0.5f;
+
+    private static Map<Key, Entry> entries = new HashMap<>();
+    private static Map<Shape, Entry> shapes = new IdentityHashMap<>();
+
+    private ShapeCache()
+    {
+
+    }
+
+    public static BoxShape box()
+    {
+        return box(BOX_SIZE);
+    }
+
+    /**
+     * Gets a shared box.
+     * @param size The size of the box
+     * @return {@link BoxShape} - The shared box
+     */
+    public static BoxShape box(Vector3 size)
+    {
+        return (BoxShape) acquire(new Key(BOX,
+                size.x, size.y, size.z, SCALE));
+    }
+
+    /**
+     * Gets whether a shape is shared through the cache.
+     * @param shape The shape
+     * @return {@link boolean} - Whether the shape is cached
+     */
+    public static boolean contains(Shape shape)
+    {
+        return shapes.containsKey(shape);
+    }
+
+    /**
+     * Gets how many bodies hold a shared shape.
+     * @param shape The shape
+     * @return {@link int} - The reference count or {@code 0} if the shape is
+     * not cached
+     */
+    public static int references(Shape shape)
+    {
+        Entry entry = shapes.get(shape);
+        if (entry == null) return 0;
+        return entry.references;
+    }
+
+    /**
+     * Releases one reference to a shared shape.
+     * The native shape is disposed once nothing references it.
+     * @param shape The shape
+     */
+    public static void release(Shape shape)
+    {
+        Entry entry = shapes.get(shape);
+        if (entry == null) return;
+        entry.references --;
+        if (entry.references > 0) return;
+        shapes.remove(shape);
+        entries.remove(entry.key);
+        shape.setCached(false);
+        shape.dispose();
+    }
+
+    /**
+     * Gets a shared shape like a cached one but with another scale.
+     * @param shape The cached shape
+     * @param scale The scale
+     * @return {@link Shape} - The shared scaled shape
+     */
+    public static Shape scaled(Shape shape, Vector3 scale)
+    {
+        Entry entry = shapes.get(shape);
+        if (entry == null)
+            throw new IllegalArgumentException("Shape is not cached");
+        Key key = entry.key;
+        return acquire(new Key(key.type, key.x, key.y, key.z, scale));
+    }
+
+    /**
+     * Gets the number of native shapes held by the cache.
+     * @return {@link int} - The number of shapes
+     */
+    public static int size()
+    {
+        return entries.size();
+    }
+
+    public static SphereShape sphere()
+    {
+        return sphere(RADIUS);
+    }
+
+    /**
+     * Gets a shared sphere.
+     * @param radius The radius of the sphere
+     * @return {@link SphereShape} - The shared sphere
+     */
+    public static SphereShape sphere(float radius)
+    {
+        return (SphereShape) acquire(new Key(SPHERE,
+                radius, radius, radius, SCALE));
+    }
+
+    private static Shape acquire(Key key)
+    {
+        Entry entry = entries.get(key);
+        if (entry == null)
+        {
+            entry = new Entry(key, create(key));
+            entries.put(key, entry);
+            shapes.put(entry.shape, entry);
+        }
+        entry.references ++;
+        return entry.shape;
+    }
+
+    private static Shape create(Key key)
+    {
+        Shape shape;
+        if (key.type == SPHERE)
+        {
+            shape = new SphereShape(key.x);
+        }
+        else
+        {
+            shape = new BoxShape(new Vector3(key.x, key.y, key.z));
+        }
+        shape.setScale(new Vector3(key.scaleX, key.scaleY, key.scaleZ));
+        shape.setCached(true);
+        return shape;
+    }
+
+    private static class Entry
+    {
+        private Key key;
+        private Shape shape;
+        private int references;
+
+        private Entry(Key key, Shape shape)
+        {
+            this.key = key;
+            this.shape = shape;
+        }
+    }
+
+    private static class Key
+    {
+        private int type;
+        private float x, y, z;
+        private float scaleX, scaleY, scaleZ;
+
+        private Key(int type, float x, float y, float z, Vector3 scale)
+        {
+            this.type = type;
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.scaleX = scale.x;
+            this.scaleY = scale.y;
+            this.scaleZ = scale.z;
+        }
+
+        @Override
+        public boolean equals(Object other)
+        {
+            if (!(other instanceof Key)) return false;
+            Key key = (Key) other;
+            return type == key.type
+                    && x == key.x && y == key.y && z == key.z
+                    && scaleX == key.scaleX
+                    && scaleY == key.scaleY
+                    && scaleZ == key.scaleZ;
+        }
+
+        @Override
+        public int hashCode()
+        {
+            int hash = type;
+            hash = 31 * hash + Float.floatToIntBits(x);
+            hash = 31 * hash + Float.floatToIntBits(y);
+            hash = 31 * hash + Float.floatToIntBits(z);
+            hash = 31 * hash + Float.floatToIntBits(scaleX);
+            hash = 31 * hash + Float.floatToIntBits(scaleY);
+            hash = 31 * hash + Float.floatToIntBits(scaleZ);
+            return hash;
+        }
+    }
+}
@@ -1,10 +1,11 @@
 package com.jaxson.lib.gdx.bullet.simulation.collision.types;
 
 import java.nio.FloatBuffer;
-import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.physics.bullet.collision.btConvexHullShape;
 import com.badlogic.gdx.physics.bullet.collision.btShapeHull;
+import com.jaxson.lib.gdx.bullet.simulation.collision.HullCache;
+import com.jaxson.lib.gdx.io.GdxFile;
 
 public class ConvexHullShape extends ConvexShape
 {
@@ -23,10 +24,12 @@ public class ConvexHullShape extends ConvexShape
 
     public static btConvexHullShape create(Model model)
     {
-        Mesh mesh = model.meshes.get(0);
-        return create(
-                mesh.getVerticesBuffer(), mesh.getNumVertices(),
-                mesh.getVertexSize());
+        return HullCache.create(HullCache.points(model));
+    }
+
+    public static btConvexHullShape create(Model model, GdxFile hullFile)
+    {
+        return HullCache.create(HullCache.points(model, hullFile));
     }
 
     public ConvexHullShape(btConvexHullShape shape)
@@ -43,4 +46,9 @@ public class ConvexHullShape extends ConvexShape
     {
         this(create(model));
     }
+
+    public ConvexHullShape(Model model, GdxFile hullFile)
+    {
+        this(create(model, hullFile));
+    }
 }
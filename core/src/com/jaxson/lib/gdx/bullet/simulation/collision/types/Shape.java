@@ -3,10 +3,12 @@ package com.jaxson.lib.gdx.bullet.simulation.collision.types;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.physics.bullet.collision.btCollisionShape;
 import com.badlogic.gdx.utils.Disposable;
+import com.jaxson.lib.gdx.bullet.simulation.collision.ShapeCache;
 
 public class Shape<S extends btCollisionShape> implements Disposable
 {
     private S shape;
+    private boolean cached;
 
     public Shape(S shape)
     {
@@ -19,9 +21,19 @@ public class Shape<S extends btCollisionShape> implements Disposable
         return shape;
     }
 
+    /**
+     * Disposes the shape.
+     * A shape shared through the {@link ShapeCache} only releases one
+     * reference.
+     */
     @Override
     public void dispose()
     {
+        if (isCached())
+        {
+            ShapeCache.release(this);
+            return;
+        }
         bulletShape().dispose();
     }
 
@@ -42,11 +54,21 @@ public class Shape<S extends btCollisionShape> implements Disposable
         return inertia;
     }
 
+    public boolean isCached()
+    {
+        return cached;
+    }
+
     public Vector3 scale()
     {
         return bulletShape().getLocalScaling();
     }
 
+    public void setCached(boolean cached)
+    {
+        this.cached = cached;
+    }
+
     public void setScale(Vector3 scale)
     {
         bulletShape().setLocalScaling(scale);
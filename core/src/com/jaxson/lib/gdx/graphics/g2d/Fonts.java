@@ -0,0 +1,66 @@
+package com.jaxson.lib.gdx.graphics.g2d;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+
+/**
+ * Shares {@link BitmapFont}s between text.
+ * Every font is loaded once and reference counted, so a HUD of many labels
+ * holds one copy of the glyph texture.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public final class Fonts
+{
+    private static BitmapFont standard;
+    private static Map<BitmapFont, Integer> references
+            = new IdentityHashMap<>();
+
+    private Fonts()
+    {
+
+    }
+
+    public static boolean contains(BitmapFont font)
+    {
+        return references.containsKey(font);
+    }
+
+    /**
+     * Releases one reference to a shared font.
+     * The font is disposed once nothing references it.
+     * @param font The font
+     */
+    public static void release(BitmapFont font)
+    {
+        Integer count = references.get(font);
+        if (count == null) return;
+        if (count > 1)
+        {
+            references.put(font, count - 1);
+            return;
+        }
+        references.remove(font);
+        if (font == standard) standard = null;
+        font.dispose();
+    }
+
+    /**
+     * Gets the shared default font.
+     * @return {@link BitmapFont} - The font, release it with
+     * {@link #release(BitmapFont)}
+     */
+    public static BitmapFont standard()
+    {
+        if (standard == null) standard = new BitmapFont();
+        return acquire(standard);
+    }
+
+    private static BitmapFont acquire(BitmapFont font)
+    {
+        Integer count = references.get(font);
+        references.put(font, count == null ? 1 : count + 1);
+        return font;
+    }
+}
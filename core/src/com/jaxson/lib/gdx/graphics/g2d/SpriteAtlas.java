@@ -0,0 +1,178 @@
+package com.jaxson.lib.gdx.graphics.g2d;
+
+import java.util.HashMap;
+import java.util.Map;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker.Page;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.Rectangle;
+import com.jaxson.lib.gdx.io.GdxFile;
+import com.jaxson.lib.util.MyArrayList;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * Packs sprite images into a few large pages at runtime.
+ * Sprites on the same page are drawn without flushing the
+ * {@link com.badlogic.gdx.graphics.g2d.SpriteBatch}. Images too large for a
+ * page keep a texture of their own. Pages are uploaded once per
+ * {@link #update()} however many images were packed since.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class SpriteAtlas
+{
+    private static final int PAGE_SIZE = 2048;
+    private static final int PADDING = 2;
+    private static final TextureFilter FILTER = TextureFilter.Nearest;
+
+    private static SpriteAtlas shared;
+
+    /**
+     * Frees the atlas shared by the {@link com.badlogic.gdx.Game}.
+     */
+    public static void disposeShared()
+    {
+        if (shared != null) shared.dispose();
+        shared = null;
+    }
+
+    /**
+     * Gets the atlas shared by the {@link com.badlogic.gdx.Game}.
+     * @return {@link SpriteAtlas} - The atlas
+     */
+    public static SpriteAtlas shared()
+    {
+        if (shared == null) shared = new SpriteAtlas();
+        return shared;
+    }
+
+    /**
+     * Uploads the changed pages of the shared atlas, if there is one.
+     */
+    public static void updateShared()
+    {
+        if (shared != null) shared.update();
+    }
+
+    private PixmapPacker packer;
+    private Map<String, TextureRegion> regions;
+    private MyArrayList<Texture> textures;
+    private int pageSize;
+    private boolean dirty;
+
+    public SpriteAtlas()
+    {
+        this(PAGE_SIZE);
+    }
+
+    /**
+     * Constructs an empty atlas.
+     * @param pageSize The width and height of a page in pixels
+     */
+    public SpriteAtlas(int pageSize)
+    {
+        if (pageSize <= 0) throw new NegativeValueException("pageSize");
+        this.pageSize = pageSize;
+        this.packer = new PixmapPacker(pageSize,
+                pageSize,
+                Format.RGBA8888,
+                PADDING,
+                false);
+        this.regions = new HashMap<>();
+        this.textures = new MyArrayList<>();
+    }
+
+    public boolean contains(GdxFile file)
+    {
+        return regions.containsKey(file.path());
+    }
+
+    public void dispose()
+    {
+        for (Page page: packer.getPages())
+        {
+            if (page.getTexture() != null) page.getTexture().dispose();
+        }
+        packer.dispose();
+        for (Texture texture: textures)
+        {
+            texture.dispose();
+        }
+        textures.clear();
+        regions.clear();
+    }
+
+    /**
+     * Gets how many pages the atlas has.
+     * @return {@link int} - The number of pages
+     */
+    public int pages()
+    {
+        return packer.getPages().size;
+    }
+
+    /**
+     * Gets the region of an image, packing it on first use.
+     * A page gets its texture when the first image is packed onto it, later
+     * images show once {@link #update()} has run.
+     * @param file The image
+     * @return {@link TextureRegion} - The region
+     */
+    public TextureRegion region(GdxFile file)
+    {
+        String name = file.path();
+        TextureRegion region = regions.get(name);
+        if (region != null) return region;
+
+        Pixmap pixmap = new Pixmap(file.getFileHandle());
+        if (fits(pixmap))
+        {
+            Rectangle rect = packer.pack(name, pixmap);
+            pixmap.dispose();
+            Page page = packer.getPage(name);
+            if (page.getTexture() == null)
+            {
+                packer.updatePageTextures(FILTER, FILTER, false);
+            }
+            else
+            {
+                dirty = true;
+            }
+            region = new TextureRegion(page.getTexture(),
+                    (int) rect.x,
+                    (int) rect.y,
+                    (int) rect.width,
+                    (int) rect.height);
+        }
+        else
+        {
+            Texture texture = new Texture(pixmap);
+            pixmap.dispose();
+            textures.add(texture);
+            region = new TextureRegion(texture);
+        }
+        regions.put(name, region);
+        return region;
+    }
+
+    /**
+     * Uploads the pages images were packed onto since the last update.
+     * Call before drawing.
+     */
+    public void update()
+    {
+        if (!dirty) return;
+        packer.updatePageTextures(FILTER, FILTER, false);
+        dirty = false;
+    }
+
+    private boolean fits(Pixmap pixmap)
+    {
+        return pixmap.getWidth() + PADDING * 2 <= pageSize
+                && pixmap.getHeight() + PADDING * 2 <= pageSize;
+    }
+}
@@ -3,6 +3,7 @@ package com.jaxson.lib.gdx.graphics.g2d.entities;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.math.Vector2;
 import com.jaxson.lib.gdx.backend.Game;
+import com.jaxson.lib.gdx.graphics.g2d.Fonts;
 
 public class FPSCounter extends Text
 {
@@ -10,6 +11,7 @@ public class FPSCounter extends Text
     private static final int FONT_PADDING = 20;
 
     private Game game;
+    private int fps;
 
     public FPSCounter(BitmapFont font, Game game)
     {
@@ -20,12 +22,15 @@ public class FPSCounter extends Text
 
     public FPSCounter(Game game)
     {
-        this(new BitmapFont(), game);
+        this(Fonts.standard(), game);
     }
 
     @Override
     public void update(float dt)
     {
-        setText(FPS_LABEL + game.display().fps());
+        int fps = game.display().fps();
+        if (fps == this.fps) return;
+        this.fps = fps;
+        clear().append(FPS_LABEL).append(fps);
     }
 }
@@ -1,16 +1,34 @@
 package com.jaxson.lib.gdx.graphics.g2d.entities;
 
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.GlyphLayout;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.jaxson.lib.gdx.graphics.g2d.Fonts;
 import com.jaxson.lib.gdx.graphics.g2d.entities.types.Sprite;
 import com.jaxson.lib.gdx.graphics.views.View;
-
+import com.jaxson.lib.util.Digits;
+
+/**
+ * A line of text drawn with a {@link BitmapFont}.
+ * The text is kept in a reusable buffer and laid out only when it changes.
+ * Build it with {@link #clear()} and the {@code append} methods to update
+ * it every frame without garbage.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
 public class Text extends Sprite
 {
     private static final String TEXT = "New Text";
+    private static final char SEPERATOR = ',';
+    private static final char OPEN = '(';
+    private static final char CLOSE = ')';
 
     private BitmapFont font;
-    private String text;
+    private StringBuilder text;
+    private GlyphLayout layout;
+    private boolean dirty;
     private Vector2 location;
     private Vector2 size;
     private Vector2 scale;
@@ -20,29 +38,112 @@ public class Text extends Sprite
         this(TEXT, font);
     }
 
+    /**
+     * Constructs text drawn with the shared default font.
+     * @param text The text
+     */
     public Text(String text)
     {
-        this(text, new BitmapFont());
+        this(text, Fonts.standard());
     }
 
     public Text(String text, BitmapFont font)
     {
-        this.text = text;
+        this.text = new StringBuilder(text);
         this.font = font;
+        this.layout = new GlyphLayout();
+        this.dirty = true;
         this.location = new Vector2();
         this.size = new Vector2(1f, 1f);
         this.scale = new Vector2(1f, 1f);
     }
 
+    public Text append(boolean value)
+    {
+        text.append(value);
+        return changed();
+    }
+
+    public Text append(char value)
+    {
+        text.append(value);
+        return changed();
+    }
+
+    public Text append(CharSequence value)
+    {
+        text.append(value);
+        return changed();
+    }
+
+    /**
+     * Appends a whole number without creating a {@link String}.
+     * @param value The number
+     * @return {@link Text} - This text
+     */
+    public Text append(long value)
+    {
+        Digits.append(text, value);
+        return changed();
+    }
+
+    /**
+     * Appends a number without creating a {@link String}.
+     * @param value The number
+     * @param decimals The number of decimal places
+     * @return {@link Text} - This text
+     */
+    public Text append(float value, int decimals)
+    {
+        Digits.append(text, value, decimals);
+        return changed();
+    }
+
+    /**
+     * Appends a vector as {@code (x,y,z)} without creating a {@link String}.
+     * @param vector The vector
+     * @param decimals The number of decimal places
+     * @return {@link Text} - This text
+     */
+    public Text append(Vector3 vector, int decimals)
+    {
+        text.append(OPEN);
+        Digits.append(text, vector.x, decimals).append(SEPERATOR);
+        Digits.append(text, vector.y, decimals).append(SEPERATOR);
+        Digits.append(text, vector.z, decimals).append(CLOSE);
+        return changed();
+    }
+
+    private Text changed()
+    {
+        dirty = true;
+        markChanged();
+        return this;
+    }
+
+    public Text clear()
+    {
+        if (text.length() == 0) return this;
+        text.setLength(0);
+        return changed();
+    }
+
     @Override
     public void dispose()
     {
-        font.dispose();
+        if (Fonts.contains(font))
+        {
+            Fonts.release(font);
+        }
+        else
+        {
+            font.dispose();
+        }
     }
 
     public String getText()
     {
-        return text;
+        return text.toString();
     }
 
     @Override
@@ -67,6 +168,7 @@ public class Text extends Sprite
     public void moveTo(Vector2 location)
     {
         this.location = location;
+        markChanged();
     }
 
     @Override
@@ -78,7 +180,12 @@ public class Text extends Sprite
     @Override
     public void render(View view)
     {
-        font.draw(view.spriteBatch(), getText(), x(), y());
+        if (dirty)
+        {
+            layout.setText(font, text);
+            dirty = false;
+        }
+        font.draw(view.spriteBatch(), layout, x(), y());
     }
 
     @Override
@@ -97,6 +204,7 @@ public class Text extends Sprite
     public void scale(Vector2 scale)
     {
         this.scale.set(scale);
+        markChanged();
     }
 
     @Override
@@ -127,17 +235,42 @@ public class Text extends Sprite
     public void setSize(float width, float height)
     {
         size.set(width, height);
+        markChanged();
+    }
+
+    /**
+     * Sets the text.
+     * Nothing is laid out again if the text is the same.
+     * @param text The text
+     */
+    public void setText(CharSequence text)
+    {
+        if (contentEquals(text)) return;
+        this.text.setLength(0);
+        this.text.append(text);
+        changed();
     }
 
-    public void setText(String text)
+    /**
+     * Gets the text without copying it.
+     * @return {@link CharSequence} - The text, changes as the text changes
+     */
+    public CharSequence text()
     {
-        this.text = text;
+        return text;
+    }
+
+    @Override
+    public Texture texture()
+    {
+        return font.getRegion().getTexture();
     }
 
     @Override
     public void translate(Vector2 translation)
     {
         location.add(translation);
+        markChanged();
     }
 
     @Override
@@ -157,4 +290,14 @@ public class Text extends Sprite
     {
         return location().y;
     }
+
+    private boolean contentEquals(CharSequence other)
+    {
+        if (other.length() != text.length()) return false;
+        for (int i = 0; i < other.length(); i ++)
+        {
+            if (other.charAt(i) != text.charAt(i)) return false;
+        }
+        return true;
+    }
 }
@@ -1,5 +1,6 @@
 package com.jaxson.lib.gdx.graphics.g2d.entities.types;
 
+import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.math.Vector2;
 import com.badlogic.gdx.math.Vector3;
 import com.jaxson.lib.gdx.util.GameObject;
@@ -8,6 +9,8 @@ public abstract class Sprite extends GameObject
 {
     private float alpha = 1f;
     private float depth = 1f;
+    private boolean visible = true;
+    private boolean changed = true;
 
     public float alpha()
     {
@@ -25,8 +28,23 @@ public abstract class Sprite extends GameObject
         return scale.set(Math.signum(scale.x), Math.signum(scale.y));
     }
 
+    /**
+     * Gets whether the sprite looks different since
+     * {@link #resetChanged()}.
+     * @return {@link boolean} - Whether the sprite changed
+     */
+    public boolean hasChanged()
+    {
+        return changed;
+    }
+
     public abstract float height();
 
+    public boolean isVisible()
+    {
+        return visible;
+    }
+
     public Vector2 location()
     {
         return new Vector2(x(), y());
@@ -37,6 +55,15 @@ public abstract class Sprite extends GameObject
         return location().add(location().scl(0.5f));
     }
 
+    /**
+     * Marks the sprite as changed so cached drawings of it are redrawn.
+     * Call after changing the sprite other than through its setters.
+     */
+    public void markChanged()
+    {
+        changed = true;
+    }
+
     public abstract void moveCenterTo(Vector2 center);
 
     public abstract void moveTo(Vector2 location);
@@ -49,6 +76,11 @@ public abstract class Sprite extends GameObject
 
     public abstract Vector2 origin();
 
+    public void resetChanged()
+    {
+        changed = false;
+    }
+
     public void rotate(float degrees)
     {
         setRotation(rotation() + degrees);
@@ -68,11 +100,13 @@ public abstract class Sprite extends GameObject
     public void setAlpha(float alpha)
     {
         this.alpha = alpha;
+        markChanged();
     }
 
     public void setDepth(float depth)
     {
         this.depth = depth;
+        markChanged();
     }
 
     public abstract void setFlip(boolean flipX, boolean flipY);
@@ -90,11 +124,28 @@ public abstract class Sprite extends GameObject
         setSize(size.x, size.y);
     }
 
+    public void setVisible(boolean visible)
+    {
+        if (this.visible == visible) return;
+        this.visible = visible;
+        markChanged();
+    }
+
     public Vector2 size()
     {
         return new Vector2(width(), height());
     }
 
+    /**
+     * Gets the texture the sprite is drawn from.
+     * Sprites sharing a texture are drawn together.
+     * @return {@link Texture} - The texture or {@code null} if unknown
+     */
+    public Texture texture()
+    {
+        return null;
+    }
+
     public void translate(float translation)
     {
         translate(new Vector2(translation, translation));
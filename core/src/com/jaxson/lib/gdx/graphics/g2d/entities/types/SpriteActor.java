@@ -2,8 +2,11 @@ package com.jaxson.lib.gdx.graphics.g2d.entities.types;
 
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.math.Vector2;
+import com.jaxson.lib.gdx.graphics.g2d.SpriteAtlas;
 import com.jaxson.lib.gdx.graphics.views.View;
+import com.jaxson.lib.gdx.io.TextureRegionFromFile;
 import com.jaxson.lib.util.Unwrapable;
 
 public class SpriteActor extends Sprite
@@ -12,7 +15,23 @@ public class SpriteActor extends Sprite
 
     public SpriteActor(Texture texture)
     {
-        this.sprite = new com.badlogic.gdx.graphics.g2d.Sprite(texture);
+        this(new TextureRegion(texture));
+    }
+
+    /**
+     * Constructs a sprite from a region.
+     * Sprites with regions of the same {@link SpriteAtlas} page are drawn
+     * together.
+     * @param region The region
+     */
+    public SpriteActor(TextureRegion region)
+    {
+        this.sprite = new com.badlogic.gdx.graphics.g2d.Sprite(region);
+    }
+
+    public SpriteActor(TextureRegionFromFile region)
+    {
+        this(region.unwrap());
     }
 
     public SpriteActor(Unwrapable<Texture> texture)
@@ -34,6 +53,7 @@ public class SpriteActor extends Sprite
     private void flip(boolean flipX, boolean flipY)
     {
         sprite.flip(flipX, flipY);
+        markChanged();
     }
 
     public void flipX()
@@ -56,12 +76,14 @@ public class SpriteActor extends Sprite
     public void moveCenterTo(Vector2 center)
     {
         sprite.setCenter(center.x, center.y);
+        markChanged();
     }
 
     @Override
     public void moveTo(Vector2 location)
     {
         sprite.setPosition(location.x, location.y);
+        markChanged();
     }
 
     @Override
@@ -104,6 +126,7 @@ public class SpriteActor extends Sprite
     {
         Vector2 newScale = scale().scl(scale);
         sprite.setScale(newScale.x, newScale.y);
+        markChanged();
     }
 
     @Override
@@ -116,35 +139,47 @@ public class SpriteActor extends Sprite
     public void setBounds(float x, float y, float width, float height)
     {
         sprite.setBounds(x, y, width, height);
+        markChanged();
     }
 
     @Override
     public void setOrigin()
     {
         sprite.setOriginCenter();
+        markChanged();
     }
 
     @Override
     public void setOrigin(Vector2 origin)
     {
         sprite.setOrigin(origin.x, origin.y);
+        markChanged();
     }
 
     @Override
     public void setRotation(float roll)
     {
         sprite.setRotation(roll);
+        markChanged();
     }
 
     @Override
     public void setSize(float width, float height)
     {
         sprite.setSize(width, height);
+        markChanged();
     }
 
     public void setTint(Color color)
     {
         sprite.setColor(color);
+        markChanged();
+    }
+
+    @Override
+    public Texture texture()
+    {
+        return sprite.getTexture();
     }
 
     public Color tint()
@@ -157,6 +192,7 @@ public class SpriteActor extends Sprite
     {
         sprite.translateX(translation.x);
         sprite.translateY(translation.y);
+        markChanged();
     }
 
     @Override
@@ -178,6 +214,7 @@ public class SpriteActor extends Sprite
         {
             sprite.setScale(sprite.getScaleX(), Math.abs(sprite.getScaleY()));
         }
+        markChanged();
     }
 
     @Override
@@ -3,15 +3,15 @@ package com.jaxson.lib.gdx.graphics.g3d.entities;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
-import com.jaxson.lib.gdx.graphics.g3d.util.MyModelBuilder;
+import com.jaxson.lib.gdx.graphics.g3d.util.Primitives;
 
 public class Sphere extends Entity
 {
     private static final Color COLOR = Color.BLUE;
 
-    protected static Model getModel(Color color)
+    protected static Model getModel()
     {
-        return new MyModelBuilder().createSphere(color);
+        return Primitives.sphere();
     }
 
     public Sphere()
@@ -21,6 +21,7 @@ public class Sphere extends Entity
 
     public Sphere(Color color)
     {
-        super(getModel(color));
+        super(getModel());
+        setColor(color);
     }
 }
@@ -195,5 +195,6 @@ public abstract class AnimatedEntity extends Entity
     {
         super.update(dt);
         animationController().update(dt);
+        if (animationDescription() != null) invalidateBounds();
     }
 }
@@ -1,19 +1,29 @@
 package com.jaxson.lib.gdx.graphics.g3d.entities.types;
 
+import java.util.Arrays;
 import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.g3d.Material;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
 import com.badlogic.gdx.graphics.g3d.model.Node;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Quaternion;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
 import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.Array;
+import com.jaxson.lib.gdx.graphics.g3d.util.Primitives;
 import com.jaxson.lib.gdx.io.GdxFile;
 import com.jaxson.lib.gdx.math.GdxMath;
 import com.jaxson.lib.gdx.util.GameObject;
 import com.jaxson.lib.math.Circle;
+import com.jaxson.lib.util.MyArrayList;
 import com.jaxson.lib.util.Printer;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
 
 public abstract class Entity extends GameObject
 {
@@ -24,6 +34,8 @@ public abstract class Entity extends GameObject
     private static final int ROOT_NODE_LOCATION = 0;
     private static final float FORWARD_DIRECTION = 0f;
     private static final float BACKWARD_DIRECTION = 180f;
+    private static final float LOD_HYSTERESIS = 0.15f;
+    private static final float FIELD_OF_VIEW = 67f;
 
     protected static Model readModel(String modelPath)
     {
@@ -31,6 +43,17 @@ public abstract class Entity extends GameObject
     }
 
     private ModelInstance modelInstance;
+    private BoundingBox bounds;
+    private Vector3 boundsCenter, boundsSize;
+    private float boundsDiameter;
+    private boolean boundsDirty;
+    private Vector3 tmpVector;
+    private Quaternion tmpQuaternion;
+    private MyArrayList<ModelInstance> lods;
+    private float[] lodSizes;
+    private float lodHysteresis;
+    private int lod;
+    private boolean lodNodesDirty;
 
     public Entity(Model model)
     {
@@ -40,6 +63,62 @@ public abstract class Entity extends GameObject
     public Entity(ModelInstance modelInstance)
     {
         this.modelInstance = modelInstance;
+        this.bounds = new BoundingBox();
+        this.boundsCenter = new Vector3();
+        this.boundsSize = new Vector3();
+        this.boundsDirty = true;
+        this.tmpVector = new Vector3();
+        this.tmpQuaternion = new Quaternion();
+        this.lodHysteresis = LOD_HYSTERESIS;
+    }
+
+    /**
+     * Adds a less detailed model, drawn once the entity covers less of the
+     * screen than a size.
+     * Add levels from most to least detailed. The model should share the
+     * node hierarchy of the entity so moved or animated nodes carry over.
+     * @param model The model
+     * @param screenSize The fraction of the screen height below which the
+     * model is drawn
+     */
+    public void addLod(Model model, float screenSize)
+    {
+        if (screenSize <= 0f) throw new NegativeValueException("screenSize");
+        if (lods == null)
+        {
+            lods = new MyArrayList<>();
+            lodSizes = new float[0];
+        }
+        int count = lods.size();
+        if (count > 0 && screenSize >= lodSizes[count - 1])
+        {
+            throw new IllegalArgumentException(
+                    "Each level must be drawn at a smaller size");
+        }
+        lods.add(new ModelInstance(model));
+        lodSizes = Arrays.copyOf(lodSizes, count + 1);
+        lodSizes[count] = screenSize;
+        lodNodesDirty = true;
+    }
+
+    /**
+     * Adds less detailed models.
+     * @param models The models, the first being the model of the entity
+     * @param screenSizes The size below which each model after the first
+     * is drawn
+     * @see #addLod(Model, float)
+     */
+    public void addLods(Model[] models, float... screenSizes)
+    {
+        if (models.length - 1 != screenSizes.length)
+        {
+            throw new IllegalArgumentException(
+                    "One size is needed for each level after the first");
+        }
+        for (int i = 0; i < screenSizes.length; i ++)
+        {
+            addLod(models[i + 1], screenSizes[i]);
+        }
     }
 
     public Ray backwardRay()
@@ -49,28 +128,51 @@ public abstract class Entity extends GameObject
 
     public BoundingBox boundingBox()
     {
-        return modelInstance().calculateBoundingBox(new BoundingBox());
+        return boundingBox(new BoundingBox());
+    }
+
+    /**
+     * Gets the bounds of the model, without the transform.
+     * @param out The box to write to
+     * @return {@link BoundingBox} - The box written to
+     */
+    public BoundingBox boundingBox(BoundingBox out)
+    {
+        return out.set(localBounds());
     }
 
     protected void calculateTransforms()
     {
         modelInstance().calculateTransforms();
+        invalidateBounds();
     }
 
     public Vector3 center()
     {
-        return boundingBox().getCenter(new Vector3());
+        return center(new Vector3());
+    }
+
+    public Vector3 center(Vector3 out)
+    {
+        localBounds();
+        return out.set(boundsCenter);
     }
 
     public float diameter()
     {
-        return size().len();
+        localBounds();
+        return boundsDiameter;
     }
 
     public Vector3 direction()
+    {
+        return direction(new Vector3());
+    }
+
+    public Vector3 direction(Vector3 out)
     {
         float[] matrix = transformValues();
-        return new Vector3(matrix[MATRIX_DIRECTION_X],
+        return out.set(matrix[MATRIX_DIRECTION_X],
                 matrix[MATRIX_DIRECTION_Y],
                 matrix[MATRIX_DIRECTION_Z]);
     }
@@ -78,6 +180,18 @@ public abstract class Entity extends GameObject
     @Override
     public void dispose()
     {
+        if (lods != null)
+        {
+            for (ModelInstance instance: lods)
+            {
+                instance.model.dispose();
+            }
+        }
+        if (Primitives.contains(model()))
+        {
+            Primitives.release(model());
+            return;
+        }
         model().dispose();
     }
 
@@ -96,19 +210,78 @@ public abstract class Entity extends GameObject
         return ray(FORWARD_DIRECTION);
     }
 
+    /**
+     * Marks the bounds of the model as changed.
+     * Called when the nodes are moved, scaled or animated.
+     */
+    public void invalidateBounds()
+    {
+        boundsDirty = true;
+        lodNodesDirty = true;
+    }
+
+    /**
+     * Gets whether the entity never moves.
+     * Static entities are merged into one cached batch by
+     * {@link com.jaxson.lib.gdx.backend.objects.Models}.
+     * @return {@link boolean} - Whether the entity is static
+     */
+    public boolean isStatic()
+    {
+        return false;
+    }
+
+    /**
+     * Tests the bounding sphere against the frustum of a camera.
+     * Only recalculates the bounds after they were invalidated.
+     * @param camera The camera
+     * @return {@link boolean} - Whether the entity may be visible
+     */
     public boolean isVisible(Camera camera)
     {
-        return camera.frustum.sphereInFrustum(locationFromCenter(), radius());
+        return camera.frustum.sphereInFrustum(worldCenter(tmpVector),
+                radius());
     }
 
     public Vector3 location()
     {
-        return transform().getTranslation(new Vector3());
+        return location(new Vector3());
+    }
+
+    public Vector3 location(Vector3 out)
+    {
+        return transform().getTranslation(out);
     }
 
     public Vector3 locationFromCenter()
     {
-        return center().add(location());
+        return locationFromCenter(new Vector3());
+    }
+
+    public Vector3 locationFromCenter(Vector3 out)
+    {
+        float[] matrix = transformValues();
+        return center(out).add(matrix[Matrix4.M03],
+                matrix[Matrix4.M13],
+                matrix[Matrix4.M23]);
+    }
+
+    /**
+     * Gets the level of detail drawn.
+     * @return {@link int} - The level, {@code 0} being the entity's model
+     */
+    public int lod()
+    {
+        return lod;
+    }
+
+    /**
+     * Gets how many levels of detail the entity has.
+     * @return {@link int} - The number of levels, including the model
+     */
+    public int lodCount()
+    {
+        return lods == null ? 1 : lods.size() + 1;
     }
 
     public Model model()
@@ -123,7 +296,7 @@ public abstract class Entity extends GameObject
 
     public void moveTo(Vector3 location)
     {
-        Quaternion rotation = rotationQuaternion();
+        Quaternion rotation = rotationQuaternion(tmpQuaternion);
         transform().setToTranslation(location);
         setRotation(rotation);
     }
@@ -156,6 +329,26 @@ public abstract class Entity extends GameObject
         return new Ray(location(), distance(location));
     }
 
+    /**
+     * Gets the instance of the level of detail drawn.
+     * Lower levels follow the transform and nodes of
+     * {@link #modelInstance()}.
+     * @return {@link ModelInstance} - The instance to render
+     */
+    public ModelInstance renderInstance()
+    {
+        if (lod == 0) return modelInstance();
+        ModelInstance instance = lods.get(lod - 1);
+        instance.transform.set(transform());
+        if (lodNodesDirty)
+        {
+            copyNodes(modelInstance().nodes, instance.nodes);
+            instance.calculateTransforms();
+            lodNodesDirty = false;
+        }
+        return instance;
+    }
+
     public Node rootNode()
     {
         return modelInstance().nodes.get(ROOT_NODE_LOCATION);
@@ -186,15 +379,25 @@ public abstract class Entity extends GameObject
 
     public Vector3 rotation()
     {
-        Quaternion rotation = rotationQuaternion();
-        return new Vector3(rotation.getYaw(),
+        return rotation(new Vector3());
+    }
+
+    public Vector3 rotation(Vector3 out)
+    {
+        Quaternion rotation = rotationQuaternion(tmpQuaternion);
+        return out.set(rotation.getYaw(),
                 rotation.getPitch(),
                 rotation.getRoll());
     }
 
     public Quaternion rotationQuaternion()
     {
-        return transform().getRotation(new Quaternion());
+        return rotationQuaternion(new Quaternion());
+    }
+
+    public Quaternion rotationQuaternion(Quaternion out)
+    {
+        return transform().getRotation(out);
     }
 
     public Vector3 scale()
@@ -212,6 +415,54 @@ public abstract class Entity extends GameObject
         setScale(scale().scl(scale));
     }
 
+    /**
+     * Gets how much of the screen height the bounds cover.
+     * @param camera The camera
+     * @return {@link float} - The fraction of the screen height
+     */
+    public float screenSize(Camera camera)
+    {
+        float diameter = diameter();
+        if (camera instanceof OrthographicCamera)
+        {
+            return diameter / Math.abs(camera.viewportHeight
+                    * ((OrthographicCamera) camera).zoom);
+        }
+        float distance = worldCenter(tmpVector).dst(camera.position);
+        if (distance <= diameter * Circle.DIAMETER_TO_RADIUS)
+            return Float.POSITIVE_INFINITY;
+        float fieldOfView = camera instanceof PerspectiveCamera
+                ? ((PerspectiveCamera) camera).fieldOfView : FIELD_OF_VIEW;
+        return diameter / (2f * distance * (float) Math.tan(
+                Math.toRadians(fieldOfView * 0.5f)));
+    }
+
+    /**
+     * Sets the diffuse color of every material of this instance.
+     * Materials are copied per instance, so the model is not changed.
+     * @param color The color
+     */
+    public void setColor(Color color)
+    {
+        setColor(modelInstance(), color);
+        if (lods == null) return;
+        for (ModelInstance instance: lods)
+        {
+            setColor(instance, color);
+        }
+    }
+
+    /**
+     * Sets how far past a switching size the entity must go before its
+     * level of detail changes, so it does not flicker at the boundary.
+     * @param hysteresis The fraction of the size
+     */
+    public void setLodHysteresis(float hysteresis)
+    {
+        if (hysteresis < 0f) throw new NegativeValueException("hysteresis");
+        this.lodHysteresis = hysteresis;
+    }
+
     public void setScale(float scale)
     {
         setScale(new Vector3(scale, scale, scale));
@@ -225,7 +476,7 @@ public abstract class Entity extends GameObject
 
     public void setRotation(float yaw, float pitch, float roll)
     {
-        Vector3 location = location();
+        Vector3 location = location(tmpVector);
         transform().setFromEulerAngles(yaw, pitch, roll);
         moveTo(location);
     }
@@ -247,7 +498,13 @@ public abstract class Entity extends GameObject
 
     public Vector3 size()
     {
-        return boundingBox().getDimensions(new Vector3());
+        return size(new Vector3());
+    }
+
+    public Vector3 size(Vector3 out)
+    {
+        localBounds();
+        return out.set(boundsSize);
     }
 
     @Override
@@ -279,4 +536,77 @@ public abstract class Entity extends GameObject
     {
         transform().trn(translation);
     }
+
+    /**
+     * Picks the level of detail from the size on screen.
+     * @param camera The camera drawing the entity
+     */
+    public void updateLod(Camera camera)
+    {
+        if (lods == null) return;
+        float size = screenSize(camera);
+        int level = lod;
+        while (level < lods.size()
+                && size < lodSizes[level] * (1f - lodHysteresis))
+        {
+            level ++;
+        }
+        while (level > 0 && size > lodSizes[level - 1] * (1f + lodHysteresis))
+        {
+            level --;
+        }
+        if (level == lod) return;
+        lod = level;
+        lodNodesDirty = true;
+    }
+
+    /**
+     * Gets the center of the bounds moved by the transform.
+     * @param out The vector to write to
+     * @return {@link Vector3} - The vector written to
+     */
+    public Vector3 worldCenter(Vector3 out)
+    {
+        center(out);
+        return out.mul(transform());
+    }
+
+    private static void copyNode(Node from, Node to)
+    {
+        to.translation.set(from.translation);
+        to.rotation.set(from.rotation);
+        to.scale.set(from.scale);
+        int children = Math.min(from.getChildCount(), to.getChildCount());
+        for (int i = 0; i < children; i ++)
+        {
+            copyNode(from.getChild(i), to.getChild(i));
+        }
+    }
+
+    private static void copyNodes(Array<Node> from, Array<Node> to)
+    {
+        int count = Math.min(from.size, to.size);
+        for (int i = 0; i < count; i ++)
+        {
+            copyNode(from.get(i), to.get(i));
+        }
+    }
+
+    private static void setColor(ModelInstance instance, Color color)
+    {
+        for (Material material: instance.materials)
+        {
+            material.set(ColorAttribute.createDiffuse(color));
+        }
+    }
+
+    private BoundingBox localBounds()
+    {
+        if (!boundsDirty) return bounds;
+        modelInstance().calculateBoundingBox(bounds);
+        bounds.getCenter(boundsCenter);
+        boundsDiameter = bounds.getDimensions(boundsSize).len();
+        boundsDirty = false;
+        return bounds;
+    }
 }
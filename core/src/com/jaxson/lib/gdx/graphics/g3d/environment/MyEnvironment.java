@@ -3,6 +3,7 @@ package com.jaxson.lib.gdx.graphics.g3d.environment;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
 import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
 import com.badlogic.gdx.graphics.g3d.environment.ShadowMap;
 import com.badlogic.gdx.math.Vector3;
@@ -10,13 +11,24 @@ import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
 import com.jaxson.lib.gdx.graphics.g3d.environment.lighting.Light;
 import com.jaxson.lib.gdx.graphics.g3d.environment.lighting.MyDirectionalLight;
 import com.jaxson.lib.gdx.graphics.g3d.environment.lighting.MyDirectionalShadowLight;
+import com.jaxson.lib.gdx.graphics.g3d.environment.lighting.ShadowCascade;
+import com.jaxson.lib.gdx.graphics.g3d.util.LooseOctree;
 import com.jaxson.lib.util.MyArrayList;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
 
 public class MyEnvironment extends Environment
 {
+    private static final float SHADOW_DISTANCE = 32f;
+    private static final float CASTER_DISTANCE = 32f;
+
     private ColorAttribute color;
     private Light light;
     private Vector3 worldSize;
+    private MyArrayList<ShadowCascade> cascades;
+    private float shadowDistance;
+    private float casterDistance;
+    private int nodesVisited;
+    private Vector3 center;
 
     public MyEnvironment()
     {
@@ -31,6 +43,10 @@ public class MyEnvironment extends Environment
     public MyEnvironment(MyDirectionalLight light)
     {
         super();
+        this.cascades = new MyArrayList<>();
+        this.shadowDistance = SHADOW_DISTANCE;
+        this.casterDistance = CASTER_DISTANCE;
+        this.center = new Vector3();
         setLight(light);
     }
 
@@ -39,10 +55,37 @@ public class MyEnvironment extends Environment
         add(light.light());
     }
 
+    /**
+     * Fits the shadow map to the camera's frustum and begins drawing into
+     * it.
+     * @param camera The camera
+     */
     public void begin(Camera camera)
     {
         if (!hasShadows()) return;
-        shadowLight().begin(Vector3.Zero, camera.direction);
+        fit(camera);
+        shadowLight().begin();
+    }
+
+    /**
+     * Gets how far behind the shadowed area casters are drawn.
+     * @return {@link float} - The distance
+     */
+    public float casterDistance()
+    {
+        return casterDistance;
+    }
+
+    /**
+     * Removes the cascades, shadows go back to one map.
+     */
+    public void clearCascades()
+    {
+        for (ShadowCascade cascade: cascades)
+        {
+            cascade.dispose();
+        }
+        cascades.clear();
     }
 
     private void clearShadowMap()
@@ -55,12 +98,34 @@ public class MyEnvironment extends Environment
         return color;
     }
 
+    public void dispose()
+    {
+        clearCascades();
+    }
+
     public void end()
     {
         if (!hasShadows()) return;
         shadowLight().end();
     }
 
+    private void fit(Camera camera)
+    {
+        shadowLight().fit(camera,
+                camera.near,
+                Math.min(camera.far, shadowDistance),
+                casterDistance);
+    }
+
+    /**
+     * Gets whether the shadows are split into cascades.
+     * @return {@link boolean} - Whether there are cascades
+     */
+    public boolean hasCascades()
+    {
+        return hasShadows() && !cascades.isEmpty();
+    }
+
     public boolean hasLight()
     {
         return light() != null;
@@ -76,22 +141,187 @@ public class MyEnvironment extends Environment
         return light;
     }
 
+    /**
+     * Marks the cached shadows of static geometry as out of date.
+     * Call after static geometry is added, removed or moved.
+     */
+    public void invalidateStaticShadows()
+    {
+        if (hasShadows()) shadowLight().invalidateStatics();
+        for (ShadowCascade cascade: cascades)
+        {
+            cascade.light().invalidateStatics();
+        }
+    }
+
+    /**
+     * Gets how many nodes of the index were visited culling the shadow maps
+     * in the last frame.
+     * @return {@link int} - The number of nodes
+     */
+    public int nodesVisited()
+    {
+        return nodesVisited;
+    }
+
+    /**
+     * Gets how many environments receivers are split between.
+     * @return {@link int} - The number of environments
+     */
+    public int receiverCount()
+    {
+        return hasCascades() ? cascades.size() : 1;
+    }
+
+    /**
+     * Gets the environment to draw an entity with.
+     * @param entity The entity
+     * @return {@link int} - The index of the environment
+     * @see #receivers(int)
+     */
+    public int receiverIndex(Entity entity)
+    {
+        if (!hasCascades()) return 0;
+        return receiverIndex(entity.worldCenter(center), entity.radius());
+    }
+
+    /**
+     * Gets the environment to draw a sphere with.
+     * The sphere uses the first cascade covering it whole, or the last
+     * cascade if none does.
+     * @param center The center of the sphere
+     * @param radius The radius of the sphere
+     * @return {@link int} - The index of the environment
+     * @see #receivers(int)
+     */
+    public int receiverIndex(Vector3 center, float radius)
+    {
+        if (!hasCascades()) return 0;
+        int last = cascades.size() - 1;
+        for (int i = 0; i < last; i ++)
+        {
+            if (cascades.get(i).contains(center, radius)) return i;
+        }
+        return last;
+    }
+
+    /**
+     * Gets an environment to draw receivers with.
+     * @param index The index of the environment
+     * @return {@link Environment} - The environment, this environment if
+     * there are no cascades
+     */
+    public Environment receivers(int index)
+    {
+        if (!hasCascades()) return this;
+        return cascades.get(index).environment();
+    }
+
     public void remove(Light light)
     {
         remove(light.light());
     }
 
+    /**
+     * Draws the entities of an index inside the shadow cameras and the
+     * static geometry into the shadow maps.
+     * The static geometry is cached between frames, see
+     * {@link #invalidateStaticShadows()}.
+     * @param index The index
+     * @param camera The camera
+     * @param out The list to fill with the entities drawn
+     * @param statics Static geometry to draw as well, may be {@code null}
+     */
+    public void render(LooseOctree index,
+            Camera camera,
+            MyArrayList<Entity> out,
+            RenderableProvider statics)
+    {
+        out.clear();
+        nodesVisited = 0;
+        if (!hasShadows()) return;
+        if (hasCascades())
+        {
+            float near = camera.near;
+            for (ShadowCascade cascade: cascades)
+            {
+                out.addAll(cascade.render(this,
+                        light(),
+                        camera,
+                        near,
+                        casterDistance,
+                        index,
+                        statics));
+                nodesVisited += index.nodesVisited();
+                near = cascade.far();
+            }
+            return;
+        }
+        fit(camera);
+        shadowLight().begin(statics);
+        index.cull(shadowLight().camera().frustum, out);
+        nodesVisited = index.nodesVisited();
+        for (int i = 0; i < out.size(); i ++)
+        {
+            shadowLight().render(out.get(i).renderInstance());
+        }
+        end();
+    }
+
     public void render(MyArrayList<Entity> entities, Camera camera)
     {
         if (!hasShadows()) return;
         begin(camera);
         for (Entity entity: entities)
         {
-            shadowLight().render(entity.modelInstance());
+            if (!entity.isVisible(shadowLight().camera())) continue;
+            shadowLight().render(entity.renderInstance());
         }
         end();
     }
 
+    /**
+     * Sets how far behind the shadowed area casters are drawn.
+     * @param casterDistance The distance
+     */
+    public void setCasterDistance(float casterDistance)
+    {
+        if (casterDistance < 0f)
+            throw new NegativeValueException("casterDistance");
+        this.casterDistance = casterDistance;
+    }
+
+    /**
+     * Splits the shadows into cascades fitted to slices of the camera's
+     * frustum.
+     * Near slices are small, so their shadow maps are sharp at a low
+     * resolution.
+     * @param splits The distance from the camera each slice ends at, in
+     * increasing order
+     * @param resolutions The width and height of each shadow map
+     */
+    public void setCascades(float[] splits, int[] resolutions)
+    {
+        if (splits.length != resolutions.length)
+        {
+            throw new IllegalArgumentException(
+                    "Every cascade needs a split and a resolution");
+        }
+        clearCascades();
+        float near = 0f;
+        for (int i = 0; i < splits.length; i ++)
+        {
+            if (splits[i] <= near)
+            {
+                clearCascades();
+                throw new IllegalArgumentException(
+                        "Cascade splits must increase");
+            }
+            cascades.add(new ShadowCascade(splits[i], resolutions[i]));
+            near = splits[i];
+        }
+    }
+
     public void setColor(Color color)
     {
         setColor(color, Light.TYPE);
@@ -135,6 +365,17 @@ public class MyEnvironment extends Environment
         this.shadowMap = shadowMap;
     }
 
+    /**
+     * Sets how far from the camera shadows reach without cascades.
+     * @param shadowDistance The distance
+     */
+    public void setShadowDistance(float shadowDistance)
+    {
+        if (shadowDistance <= 0f)
+            throw new NegativeValueException("shadowDistance");
+        this.shadowDistance = shadowDistance;
+    }
+
     public void setShawdows(boolean shawdows)
     {
         if (shawdows)
@@ -152,6 +393,11 @@ public class MyEnvironment extends Environment
         this.worldSize = worldSize;
     }
 
+    public float shadowDistance()
+    {
+        return shadowDistance;
+    }
+
     public MyDirectionalShadowLight shadowLight()
     {
         return light.toShadow();
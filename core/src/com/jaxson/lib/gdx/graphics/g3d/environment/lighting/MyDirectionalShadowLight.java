@@ -3,8 +3,10 @@ package com.jaxson.lib.gdx.graphics.g3d.environment.lighting;
 import com.badlogic.gdx.graphics.Camera;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
 import com.badlogic.gdx.graphics.g3d.environment.DirectionalShadowLight;
 import com.badlogic.gdx.graphics.g3d.environment.ShadowMap;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Vector3;
 import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
 
@@ -17,8 +19,20 @@ public class MyDirectionalShadowLight extends BaseLight<DirectionalShadowLight>
     private static final float SHADOW_NEAR = 1f;
     private static final float SHADOW_FAR = 100f;
     private static final Vector3 WORLD_SIZE = new Vector3(16f, 16f, 16f);
+    private static final int CORNERS = 8;
+    private static final float SIZE_STEP = 16f;
+    private static final float UP_LIMIT = 0.99f;
 
     private ShadowBatch shadowBatch;
+    private Vector3 fitCenter;
+    private float fitRadius;
+    private Vector3 sliceCenter;
+    private int texelX;
+    private int texelY;
+    private float depth;
+    private Vector3[] corners;
+    private Vector3 right;
+    private StaticShadowCache staticCache;
 
     public MyDirectionalShadowLight()
     {
@@ -119,6 +133,14 @@ public class MyDirectionalShadowLight extends BaseLight<DirectionalShadowLight>
     {
         super(light);
         this.shadowBatch = new ShadowBatch();
+        this.fitCenter = new Vector3();
+        this.sliceCenter = new Vector3();
+        this.corners = new Vector3[CORNERS];
+        this.right = new Vector3();
+        for (int i = 0; i < CORNERS; i ++)
+        {
+            corners[i] = new Vector3();
+        }
     }
 
     public MyDirectionalShadowLight(Light light)
@@ -131,12 +153,53 @@ public class MyDirectionalShadowLight extends BaseLight<DirectionalShadowLight>
         this(COLOR, direction);
     }
 
+    /**
+     * Begins drawing into the shadow map with the shadow camera as last
+     * fitted.
+     */
+    public void begin()
+    {
+        light().begin();
+        being();
+    }
+
     public void begin(Camera camera)
     {
         light().begin(camera);
         being();
     }
 
+    /**
+     * Begins drawing into the shadow map with static geometry already in
+     * it.
+     * With OpenGL 3 the statics are copied from a {@link StaticShadowCache}
+     * and only drawn again when the shadow camera moves past the margin of
+     * the cache, the light turns or {@link #invalidateStatics()} is called.
+     * @param statics The static geometry, may be {@code null}
+     */
+    public void begin(RenderableProvider statics)
+    {
+        if (statics == null)
+        {
+            begin();
+            return;
+        }
+        if (!StaticShadowCache.isSupported())
+        {
+            begin();
+            render(statics);
+            return;
+        }
+        if (staticCache == null)
+        {
+            staticCache = new StaticShadowCache(resolution());
+        }
+        if (!staticCache.isValid(this)) staticCache.render(this, statics);
+        light().begin();
+        staticCache.copy(this);
+        being();
+    }
+
     public void begin(Vector3 center, Vector3 forward)
     {
         light().begin(center, forward);
@@ -153,18 +216,94 @@ public class MyDirectionalShadowLight extends BaseLight<DirectionalShadowLight>
         return light().getCamera();
     }
 
+    /**
+     * Gets whether a sphere is covered by the area last fitted.
+     * @param center The center of the sphere
+     * @param radius The radius of the sphere
+     * @return {@link boolean} - Whether the sphere is covered
+     */
+    public boolean contains(Vector3 center, float radius)
+    {
+        if (fitRadius <= 0f) return false;
+        return center.dst(fitCenter) + radius <= fitRadius;
+    }
+
     @Override
     public MyDirectionalShadowLight copy()
     {
         return new MyDirectionalShadowLight(this);
     }
 
+    /**
+     * Gets where the depth range last fitted starts, along the light.
+     * @return {@link float} - The distance
+     */
+    protected float depth()
+    {
+        return depth;
+    }
+
+    public void dispose()
+    {
+        getShadowBatch().dispose();
+        light().dispose();
+        if (staticCache != null) staticCache.dispose();
+    }
+
     public void end()
     {
         getShadowBatch().end();
         light().end();
     }
 
+    /**
+     * Fits the shadow camera around a slice of a camera's frustum.
+     * The slice is wrapped in a sphere and snapped to whole texels so the
+     * shadows do not shimmer as the camera turns and moves. The depth range
+     * is snapped to steps of the radius, so moving the camera only shifts
+     * the map by whole texels and cached statics can be reused.
+     * @param camera The camera
+     * @param near The distance from the camera the slice starts at
+     * @param far The distance from the camera the slice ends at
+     * @param casterDistance How far behind the slice casters are drawn
+     */
+    public void fit(Camera camera, float near, float far, float casterDistance)
+    {
+        float radius = slice(camera, near, far);
+        radius = Math.max((float) Math.ceil(radius * SIZE_STEP),
+                1f) / SIZE_STEP;
+
+        Camera shadow = camera();
+        shadow.direction.set(direction()).nor();
+        if (Math.abs(shadow.direction.y) > UP_LIMIT)
+        {
+            shadow.up.set(Vector3.Z);
+        }
+        else
+        {
+            shadow.up.set(Vector3.Y);
+        }
+        shadow.normalizeUp();
+        right.set(shadow.direction).crs(shadow.up);
+        float texel = 2f * radius / resolution();
+        texelX = Math.round(sliceCenter.dot(right) / texel);
+        texelY = Math.round(sliceCenter.dot(shadow.up) / texel);
+        float z = sliceCenter.dot(shadow.direction);
+        depth = (float) Math.floor(z / radius) * radius;
+        fitCenter.set(right).scl(texelX * texel)
+                .mulAdd(shadow.up, texelY * texel);
+        fitRadius = radius;
+
+        shadow.viewportWidth = 2f * radius;
+        shadow.viewportHeight = 2f * radius;
+        shadow.near = 0f;
+        shadow.far = 3f * radius + casterDistance;
+        shadow.position.set(fitCenter)
+                .mulAdd(shadow.direction, depth - radius - casterDistance);
+        shadow.update();
+        fitCenter.mulAdd(shadow.direction, z);
+    }
+
     public ShadowBatch getShadowBatch()
     {
         return shadowBatch;
@@ -181,9 +320,17 @@ public class MyDirectionalShadowLight extends BaseLight<DirectionalShadowLight>
         return true;
     }
 
+    /**
+     * Marks the cached static shadows as out of date.
+     */
+    public void invalidateStatics()
+    {
+        if (staticCache != null) staticCache.invalidate();
+    }
+
     public void render(Entity entity)
     {
-        render(entity.modelInstance());
+        render(entity.renderInstance());
     }
 
     public void render(ModelInstance modelInstance)
@@ -191,6 +338,38 @@ public class MyDirectionalShadowLight extends BaseLight<DirectionalShadowLight>
         getShadowBatch().render(modelInstance);
     }
 
+    public void render(RenderableProvider renderableProvider)
+    {
+        getShadowBatch().render(renderableProvider);
+    }
+
+    /**
+     * Gets the width of the shadow map.
+     * @return {@link int} - The width in pixels
+     */
+    public int resolution()
+    {
+        return light().getDepthMap().texture.getWidth();
+    }
+
+    /**
+     * Gets the center last fitted across the light, in texels.
+     * @return {@link int} - The texel along the right of the shadow camera
+     */
+    protected int texelX()
+    {
+        return texelX;
+    }
+
+    /**
+     * Gets the center last fitted up the light, in texels.
+     * @return {@link int} - The texel along the up of the shadow camera
+     */
+    protected int texelY()
+    {
+        return texelY;
+    }
+
     @Override
     public MyDirectionalLight toLight()
     {
@@ -202,4 +381,30 @@ public class MyDirectionalShadowLight extends BaseLight<DirectionalShadowLight>
     {
         return this;
     }
+
+    /**
+     * Wraps a slice of a camera's frustum in a sphere.
+     */
+    private float slice(Camera camera, float near, float far)
+    {
+        Vector3[] points = camera.frustum.planePoints;
+        float range = camera.far - camera.near;
+        float start = MathUtils.clamp((near - camera.near) / range, 0f, 1f);
+        float end = MathUtils.clamp((far - camera.near) / range, 0f, 1f);
+        int half = CORNERS / 2;
+        sliceCenter.setZero();
+        for (int i = 0; i < half; i ++)
+        {
+            corners[i].set(points[i]).lerp(points[i + half], start);
+            corners[i + half].set(points[i]).lerp(points[i + half], end);
+            sliceCenter.add(corners[i]).add(corners[i + half]);
+        }
+        sliceCenter.scl(1f / CORNERS);
+        float radius = 0f;
+        for (Vector3 corner: corners)
+        {
+            radius = Math.max(radius, corner.dst(sliceCenter));
+        }
+        return radius;
+    }
 }
@@ -0,0 +1,121 @@
+package com.jaxson.lib.gdx.graphics.g3d.environment.lighting;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.math.Vector3;
+import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
+import com.jaxson.lib.gdx.graphics.g3d.util.LooseOctree;
+import com.jaxson.lib.util.MyArrayList;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * A slice of the camera's frustum with a shadow map of its own.
+ * Receivers covered by the slice are drawn with {@link #environment()},
+ * which holds this shadow map in place of the main one.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class ShadowCascade
+{
+    private MyDirectionalShadowLight light;
+    private Environment environment;
+    private MyArrayList<Entity> casters;
+    private float far;
+
+    /**
+     * Constructs a cascade.
+     * @param far The distance from the camera the slice ends at
+     * @param resolution The width and height of the shadow map
+     */
+    public ShadowCascade(float far, int resolution)
+    {
+        if (far <= 0f) throw new NegativeValueException("far");
+        if (resolution <= 0) throw new NegativeValueException("resolution");
+        this.far = far;
+        this.light = new MyDirectionalShadowLight(Light.COLOR,
+                Light.DIRECTION,
+                resolution,
+                resolution,
+                far,
+                far);
+        this.environment = new Environment();
+        this.casters = new MyArrayList<>();
+    }
+
+    /**
+     * Gets whether a sphere is covered by the slice last fitted.
+     * @param center The center of the sphere
+     * @param radius The radius of the sphere
+     * @return {@link boolean} - Whether the sphere is covered
+     */
+    public boolean contains(Vector3 center, float radius)
+    {
+        return light.contains(center, radius);
+    }
+
+    public void dispose()
+    {
+        light.dispose();
+    }
+
+    /**
+     * Gets the environment receivers in this cascade are drawn with.
+     * @return {@link Environment} - The environment
+     */
+    public Environment environment()
+    {
+        return environment;
+    }
+
+    public float far()
+    {
+        return far;
+    }
+
+    public MyDirectionalShadowLight light()
+    {
+        return light;
+    }
+
+    /**
+     * Fits the cascade to its slice and draws the entities of an index
+     * inside the shadow camera into the shadow map.
+     * @param source The environment to light receivers with
+     * @param sun The light casting the shadows
+     * @param camera The camera
+     * @param near The distance from the camera the slice starts at
+     * @param casterDistance How far behind the slice casters are drawn
+     * @param index The index
+     * @param statics Static geometry to draw as well, may be {@code null}
+     * @return {@link MyArrayList} - The entities drawn
+     */
+    public MyArrayList<Entity> render(Environment source,
+            Light sun,
+            Camera camera,
+            float near,
+            float casterDistance,
+            LooseOctree index,
+            RenderableProvider statics)
+    {
+        light.set(sun.color(), sun.direction());
+        light.fit(camera, near, far, casterDistance);
+        light.begin(statics);
+        index.cull(light.camera().frustum, casters);
+        for (int i = 0; i < casters.size(); i ++)
+        {
+            light.render(casters.get(i).renderInstance());
+        }
+        light.end();
+        sync(source);
+        return casters;
+    }
+
+    @SuppressWarnings("deprecation")
+    private void sync(Environment source)
+    {
+        environment.clear();
+        environment.set(source);
+        environment.shadowMap = light.getShadowMap();
+    }
+}
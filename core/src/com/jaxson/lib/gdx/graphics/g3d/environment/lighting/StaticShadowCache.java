@@ -0,0 +1,171 @@
+package com.jaxson.lib.gdx.graphics.g3d.environment.lighting;
+
+import java.nio.IntBuffer;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.BufferUtils;
+
+/**
+ * Keeps the shadow of static geometry in a depth map of its own.
+ * The statics are drawn once, then copied into the shadow map every frame
+ * before the moving casters. The cache has the texel size of the shadow
+ * map plus a margin on every side, so as the shadow camera moves by whole
+ * texels the part under it is copied from further along. The statics are
+ * only drawn again when the shadow camera moves past the margin, its size,
+ * depth range or direction changes, or the static set changes.
+ * Copying depth needs OpenGL 3, check {@link #isSupported()}.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class StaticShadowCache
+{
+    private static final int INT_BUFFER_SIZE = 16;
+    private static final int MARGIN_SCALE = 8;
+
+    /**
+     * Gets whether the depth maps can be copied.
+     * @return {@link boolean} - Whether OpenGL 3 is in use
+     */
+    public static boolean isSupported()
+    {
+        return Gdx.gl30 != null;
+    }
+
+    private FrameBuffer buffer;
+    private int resolution;
+    private int margin;
+    private boolean dirty;
+    private int renders;
+    private IntBuffer binding;
+    private Vector3 direction;
+    private float size;
+    private float far;
+    private float depth;
+    private int texelX;
+    private int texelY;
+
+    /**
+     * Constructs a cache with a margin of an eighth of the shadow map.
+     * @param resolution The width and height of the shadow map
+     */
+    public StaticShadowCache(int resolution)
+    {
+        int margin = resolution / MARGIN_SCALE;
+        int width = resolution + 2 * margin;
+        this.buffer = new FrameBuffer(Format.RGBA8888, width, width, true);
+        this.resolution = resolution;
+        this.margin = margin;
+        this.dirty = true;
+        this.binding = BufferUtils.newIntBuffer(INT_BUFFER_SIZE);
+        this.direction = new Vector3();
+    }
+
+    /**
+     * Copies the part of the cache under the shadow camera into the frame
+     * buffer that is bound.
+     * @param light The light the cache belongs to
+     */
+    public void copy(MyDirectionalShadowLight light)
+    {
+        GL30 gl = Gdx.gl30;
+        binding.clear();
+        gl.glGetIntegerv(GL20.GL_FRAMEBUFFER_BINDING, binding);
+        int target = binding.get(0);
+        int x = margin + light.texelX() - texelX;
+        int y = margin + light.texelY() - texelY;
+        gl.glBindFramebuffer(GL30.GL_READ_FRAMEBUFFER,
+                buffer.getFramebufferHandle());
+        gl.glBindFramebuffer(GL30.GL_DRAW_FRAMEBUFFER, target);
+        gl.glBlitFramebuffer(x, y, x + resolution, y + resolution,
+                0, 0, resolution, resolution,
+                GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT,
+                GL20.GL_NEAREST);
+        gl.glBindFramebuffer(GL20.GL_FRAMEBUFFER, target);
+    }
+
+    public void dispose()
+    {
+        buffer.dispose();
+    }
+
+    /**
+     * Marks the cache as out of date.
+     * Call when static geometry is added, removed or moved.
+     */
+    public void invalidate()
+    {
+        dirty = true;
+    }
+
+    /**
+     * Gets whether the cache covers the shadow camera of a light.
+     * @param light The light the cache belongs to
+     * @return {@link boolean} - Whether the cache can be copied
+     */
+    public boolean isValid(MyDirectionalShadowLight light)
+    {
+        if (dirty) return false;
+        Camera camera = light.camera();
+        return direction.equals(camera.direction)
+                && size == camera.viewportWidth
+                && far == camera.far
+                && depth == light.depth()
+                && Math.abs(light.texelX() - texelX) <= margin
+                && Math.abs(light.texelY() - texelY) <= margin;
+    }
+
+    /**
+     * Draws static geometry into the cache, centered on the shadow camera.
+     * @param light The light the cache belongs to
+     * @param statics The static geometry
+     */
+    public void render(MyDirectionalShadowLight light,
+            RenderableProvider statics)
+    {
+        Camera camera = light.camera();
+        int width = buffer.getWidth();
+        int height = buffer.getHeight();
+        float viewportWidth = camera.viewportWidth;
+        float viewportHeight = camera.viewportHeight;
+        camera.viewportWidth = viewportWidth * width / resolution;
+        camera.viewportHeight = viewportHeight * height / resolution;
+        camera.update();
+        buffer.begin();
+        Gdx.gl.glViewport(0, 0, width, height);
+        Gdx.gl.glClearColor(1f, 1f, 1f, 1f);
+        Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+        Gdx.gl.glEnable(GL20.GL_SCISSOR_TEST);
+        Gdx.gl.glScissor(1, 1, width - 2, height - 2);
+        light.getShadowBatch().begin(light);
+        light.getShadowBatch().render(statics);
+        light.getShadowBatch().end();
+        Gdx.gl.glDisable(GL20.GL_SCISSOR_TEST);
+        buffer.end();
+        camera.viewportWidth = viewportWidth;
+        camera.viewportHeight = viewportHeight;
+        camera.update();
+        direction.set(camera.direction);
+        size = viewportWidth;
+        far = camera.far;
+        depth = light.depth();
+        texelX = light.texelX();
+        texelY = light.texelY();
+        dirty = false;
+        renders ++;
+    }
+
+    /**
+     * Gets how many times the statics were drawn into the cache.
+     * @return {@link int} - The number of draws
+     */
+    public int renders()
+    {
+        return renders;
+    }
+}
@@ -0,0 +1,409 @@
+package com.jaxson.lib.gdx.graphics.g3d.util;
+
+import java.nio.FloatBuffer;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GLTexture;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.DirectionalLightsAttribute;
+import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
+import com.badlogic.gdx.graphics.g3d.environment.ShadowMap;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
+import com.jaxson.lib.util.MyArrayList;
+
+/**
+ * Draws {@link Entity}s sharing a mesh with one instanced call each.
+ * Only single part entities tinted by a diffuse color are instanced, the
+ * transform and color of every instance are streamed in a vertex buffer.
+ * Needs OpenGL 3, check {@link #isSupported()} first.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class InstancedRenderer
+{
+    private static final int FLOATS = 16 + 4;
+    private static final int STRIDE = FLOATS * Float.SIZE / Byte.SIZE;
+    private static final int COLUMN = 4 * Float.SIZE / Byte.SIZE;
+    private static final int CAPACITY = 64;
+    private static final int MIN_INSTANCES = 2;
+
+    private static final String[] INSTANCE_ATTRIBUTES = {
+        "a_worldTrans0", "a_worldTrans1", "a_worldTrans2", "a_worldTrans3",
+        "a_color" };
+
+    private static final String SHADOW_FLAG = "#define shadowMapFlag\n";
+
+    private static final String VERTEX_SHADER = ""
+            + "in vec3 a_position;\n"
+            + "in vec3 a_normal;\n"
+            + "in vec4 a_worldTrans0;\n"
+            + "in vec4 a_worldTrans1;\n"
+            + "in vec4 a_worldTrans2;\n"
+            + "in vec4 a_worldTrans3;\n"
+            + "in vec4 a_color;\n"
+            + "uniform mat4 u_projViewTrans;\n"
+            + "uniform vec3 u_lightDirection;\n"
+            + "uniform vec3 u_lightColor;\n"
+            + "out vec4 v_color;\n"
+            + "out vec3 v_lightDiffuse;\n"
+            + "#ifdef shadowMapFlag\n"
+            + "uniform mat4 u_shadowMapProjViewTrans;\n"
+            + "out vec3 v_shadowMapUv;\n"
+            + "#endif\n"
+            + "void main()\n"
+            + "{\n"
+            + "    mat4 worldTrans = mat4(a_worldTrans0, a_worldTrans1,\n"
+            + "            a_worldTrans2, a_worldTrans3);\n"
+            + "    vec4 position = worldTrans * vec4(a_position, 1.0);\n"
+            + "    vec3 normal = normalize(mat3(worldTrans) * a_normal);\n"
+            + "    float lambert = max(dot(normal, -u_lightDirection), 0.0);\n"
+            + "    v_color = a_color;\n"
+            + "    v_lightDiffuse = u_lightColor * lambert;\n"
+            + "#ifdef shadowMapFlag\n"
+            + "    vec4 shadow = u_shadowMapProjViewTrans * position;\n"
+            + "    v_shadowMapUv = (shadow.xyz / shadow.w) * 0.5 + 0.5;\n"
+            + "#endif\n"
+            + "    gl_Position = u_projViewTrans * position;\n"
+            + "}\n";
+
+    private static final String FRAGMENT_SHADER = ""
+            + "in vec4 v_color;\n"
+            + "in vec3 v_lightDiffuse;\n"
+            + "uniform vec3 u_ambient;\n"
+            + "out vec4 fragColor;\n"
+            + "#ifdef shadowMapFlag\n"
+            + "uniform sampler2D u_shadowTexture;\n"
+            + "uniform float u_shadowPCFOffset;\n"
+            + "in vec3 v_shadowMapUv;\n"
+            + "float shadowness(vec2 offset)\n"
+            + "{\n"
+            + "    const vec4 bitShifts = vec4(1.0, 1.0 / 255.0,\n"
+            + "            1.0 / 65025.0, 1.0 / 16581375.0);\n"
+            + "    vec4 depth = texture(u_shadowTexture,\n"
+            + "            v_shadowMapUv.xy + offset);\n"
+            + "    return step(v_shadowMapUv.z, dot(depth, bitShifts));\n"
+            + "}\n"
+            + "float shadow()\n"
+            + "{\n"
+            + "    float o = u_shadowPCFOffset;\n"
+            + "    return (shadowness(vec2(o, o))\n"
+            + "            + shadowness(vec2(-o, o))\n"
+            + "            + shadowness(vec2(o, -o))\n"
+            + "            + shadowness(vec2(-o, -o))) * 0.25;\n"
+            + "}\n"
+            + "#endif\n"
+            + "void main()\n"
+            + "{\n"
+            + "    vec3 light = v_lightDiffuse;\n"
+            + "#ifdef shadowMapFlag\n"
+            + "    light *= shadow();\n"
+            + "#endif\n"
+            + "    fragColor = vec4(v_color.rgb * (u_ambient + light),\n"
+            + "            v_color.a);\n"
+            + "}\n";
+
+    /**
+     * Gets whether instanced drawing is available.
+     * @return {@link boolean} - Whether OpenGL 3 is in use
+     */
+    public static boolean isSupported()
+    {
+        return Gdx.gl30 != null;
+    }
+
+    private static String version()
+    {
+        if (Gdx.app.getType() == ApplicationType.Desktop)
+            return "#version 150\n";
+        return "#version 300 es\nprecision mediump float;\n";
+    }
+
+    private ShaderProgram shader, shadowShader;
+    private int[] locations, shadowLocations;
+    private int buffer;
+    private FloatBuffer data;
+    private Map<MeshPart, MyArrayList<Entity>> groups;
+    private MyArrayList<MeshPart> parts;
+    private Matrix4 worldTransform;
+    private int drawCalls;
+    private int instances;
+
+    public InstancedRenderer()
+    {
+        this.shader = compile(version());
+        this.shadowShader = compile(version() + SHADOW_FLAG);
+        this.locations = locations(shader);
+        this.shadowLocations = locations(shadowShader);
+        this.buffer = Gdx.gl.glGenBuffer();
+        this.data = BufferUtils.newFloatBuffer(CAPACITY * FLOATS);
+        this.groups = new IdentityHashMap<>();
+        this.parts = new MyArrayList<>();
+        this.worldTransform = new Matrix4();
+    }
+
+    /**
+     * Queues an entity if it can be instanced.
+     * @param entity The entity
+     * @return {@link boolean} - Whether the entity was queued, otherwise it
+     * has to be drawn normally
+     */
+    public boolean add(Entity entity)
+    {
+        NodePart part = instancedPart(entity.renderInstance());
+        if (part == null) return false;
+        MyArrayList<Entity> group = groups.get(part.meshPart);
+        if (group == null)
+        {
+            group = new MyArrayList<>();
+            groups.put(part.meshPart, group);
+        }
+        if (group.isEmpty()) parts.add(part.meshPart);
+        group.add(entity);
+        return true;
+    }
+
+    public void dispose()
+    {
+        shader.dispose();
+        shadowShader.dispose();
+        Gdx.gl.glDeleteBuffer(buffer);
+    }
+
+    /**
+     * Gets how many instanced calls were made since
+     * {@link #resetCounts()}.
+     * @return {@link int} - The number of calls
+     */
+    public int drawCalls()
+    {
+        return drawCalls;
+    }
+
+    /**
+     * Draws groups too small to instance through a batch.
+     * Call before the batch ends.
+     * @param batch The batch
+     * @param environment The environment
+     */
+    public void flush(ModelBatch batch, Environment environment)
+    {
+        for (int i = parts.size() - 1; i >= 0; i --)
+        {
+            MyArrayList<Entity> group = groups.get(parts.get(i));
+            if (group.size() >= MIN_INSTANCES) continue;
+            for (Entity entity: group)
+            {
+                batch.render(entity.renderInstance(), environment);
+            }
+            group.clear();
+            parts.remove(i);
+        }
+    }
+
+    /**
+     * Gets how many entities were drawn instanced since
+     * {@link #resetCounts()}.
+     * @return {@link int} - The number of entities
+     */
+    public int instances()
+    {
+        return instances;
+    }
+
+    /**
+     * Zeroes the counters, call once at the start of a frame.
+     */
+    public void resetCounts()
+    {
+        drawCalls = 0;
+        instances = 0;
+    }
+
+    /**
+     * Draws every queued group and empties the queue.
+     * Call after {@link #flush(ModelBatch, Environment)} and before the
+     * batch ends, so its blended renderables are drawn over the instances.
+     * Leaves depth testing, culling and the shader off, as the batch expects
+     * them.
+     * @param camera The camera
+     * @param environment The environment
+     */
+    @SuppressWarnings("deprecation")
+    public void render(Camera camera, Environment environment)
+    {
+        if (parts.isEmpty()) return;
+
+        ShadowMap shadowMap = environment.shadowMap;
+        ShaderProgram program = shadowMap == null ? shader : shadowShader;
+        int[] attributes = shadowMap == null ? locations : shadowLocations;
+
+        GL20 gl = Gdx.gl;
+        gl.glEnable(GL20.GL_DEPTH_TEST);
+        gl.glDepthFunc(GL20.GL_LEQUAL);
+        gl.glDepthMask(true);
+        gl.glEnable(GL20.GL_CULL_FACE);
+        gl.glCullFace(GL20.GL_BACK);
+
+        program.begin();
+        program.setUniformMatrix("u_projViewTrans", camera.combined);
+        setLights(program, environment);
+        if (shadowMap != null)
+        {
+            GLTexture texture = shadowMap.getDepthMap().texture;
+            texture.bind(0);
+            program.setUniformi("u_shadowTexture", 0);
+            program.setUniformf("u_shadowPCFOffset",
+                    1f / (2f * texture.getWidth()));
+            program.setUniformMatrix("u_shadowMapProjViewTrans",
+                    shadowMap.getProjViewTrans());
+        }
+        for (MeshPart part: parts)
+        {
+            MyArrayList<Entity> group = groups.get(part);
+            draw(program, attributes, part, group);
+            group.clear();
+        }
+        program.end();
+        parts.clear();
+
+        gl.glDisable(GL20.GL_CULL_FACE);
+        gl.glDisable(GL20.GL_DEPTH_TEST);
+    }
+
+    private ShaderProgram compile(String prefix)
+    {
+        ShaderProgram program = new ShaderProgram(
+                prefix + VERTEX_SHADER, prefix + FRAGMENT_SHADER);
+        if (!program.isCompiled())
+            throw new IllegalStateException(program.getLog());
+        return program;
+    }
+
+    private void draw(ShaderProgram program,
+            int[] attributes,
+            MeshPart part,
+            MyArrayList<Entity> group)
+    {
+        int count = group.size();
+        if (data.capacity() < count * FLOATS)
+        {
+            data = BufferUtils.newFloatBuffer(count * FLOATS);
+        }
+        data.clear();
+        for (Entity entity: group)
+        {
+            ModelInstance instance = entity.renderInstance();
+            Node node = instance.nodes.get(0);
+            worldTransform.set(instance.transform).mul(node.globalTransform);
+            data.put(worldTransform.val);
+            Color color = ((ColorAttribute) node.parts.get(0).material
+                    .get(ColorAttribute.Diffuse)).color;
+            data.put(color.r).put(color.g).put(color.b).put(color.a);
+        }
+        data.flip();
+
+        GL20 gl = Gdx.gl;
+        part.mesh.bind(program);
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, buffer);
+        gl.glBufferData(GL20.GL_ARRAY_BUFFER, count * STRIDE, data,
+                GL20.GL_STREAM_DRAW);
+        for (int i = 0; i < attributes.length; i ++)
+        {
+            int location = attributes[i];
+            if (location < 0) continue;
+            gl.glEnableVertexAttribArray(location);
+            gl.glVertexAttribPointer(location, 4, GL20.GL_FLOAT, false,
+                    STRIDE, i * COLUMN);
+            Gdx.gl30.glVertexAttribDivisor(location, 1);
+        }
+
+        if (part.mesh.getNumIndices() > 0)
+        {
+            Gdx.gl30.glDrawElementsInstanced(part.primitiveType, part.size,
+                    GL20.GL_UNSIGNED_SHORT,
+                    part.offset * Short.SIZE / Byte.SIZE, count);
+        }
+        else
+        {
+            Gdx.gl30.glDrawArraysInstanced(part.primitiveType, part.offset,
+                    part.size, count);
+        }
+        drawCalls ++;
+        instances += count;
+
+        for (int location: attributes)
+        {
+            if (location < 0) continue;
+            Gdx.gl30.glVertexAttribDivisor(location, 0);
+            gl.glDisableVertexAttribArray(location);
+        }
+        gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+        part.mesh.unbind(program);
+    }
+
+    private NodePart instancedPart(ModelInstance instance)
+    {
+        if (instance.nodes.size != 1) return null;
+        Node node = instance.nodes.get(0);
+        if (node.hasChildren() || node.parts.size != 1) return null;
+        NodePart part = node.parts.get(0);
+        if (!part.enabled || part.bones != null) return null;
+        Material material = part.material;
+        if (material.size() != 1 || !material.has(ColorAttribute.Diffuse))
+            return null;
+        return part;
+    }
+
+    private int[] locations(ShaderProgram program)
+    {
+        int[] result = new int[INSTANCE_ATTRIBUTES.length];
+        for (int i = 0; i < result.length; i ++)
+        {
+            result[i] = program.getAttributeLocation(INSTANCE_ATTRIBUTES[i]);
+        }
+        return result;
+    }
+
+    private void setLights(ShaderProgram program, Environment environment)
+    {
+        ColorAttribute ambient = (ColorAttribute) environment.get(
+                ColorAttribute.AmbientLight);
+        if (ambient == null)
+        {
+            program.setUniformf("u_ambient", 0f, 0f, 0f);
+        }
+        else
+        {
+            Color color = ambient.color;
+            program.setUniformf("u_ambient", color.r, color.g, color.b);
+        }
+
+        DirectionalLightsAttribute lights = (DirectionalLightsAttribute)
+                environment.get(DirectionalLightsAttribute.Type);
+        if (lights == null || lights.lights.size == 0)
+        {
+            program.setUniformf("u_lightColor", 0f, 0f, 0f);
+            program.setUniformf("u_lightDirection", 0f, -1f, 0f);
+            return;
+        }
+        DirectionalLight light = lights.lights.first();
+        program.setUniformf("u_lightColor",
+                light.color.r, light.color.g, light.color.b);
+        program.setUniformf("u_lightDirection", light.direction);
+    }
+}
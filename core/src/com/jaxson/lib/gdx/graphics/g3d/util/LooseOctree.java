@@ -0,0 +1,338 @@
+package com.jaxson.lib.gdx.graphics.g3d.util;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.math.Vector3;
+import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
+import com.jaxson.lib.util.MyArrayList;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * Sorts {@link Entity}s by their bounding spheres into a loose octree.
+ * Every node reaches twice as far as its cell, so an entity stays in the
+ * same node until its center leaves the cell. Culling rejects or accepts
+ * whole nodes with one test against the frustum.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class LooseOctree
+{
+    private static final float LOOSENESS = 2f;
+    private static final float SIZE = 64f;
+    private static final float MAX_SIZE = 1048576f;
+    private static final int MAX_DEPTH = 8;
+    private static final int CHILDREN = 8;
+
+    private static final int OUTSIDE = 0;
+    private static final int INTERSECTS = 1;
+    private static final int INSIDE = 2;
+
+    private Node root;
+    private Map<Entity, Item> items;
+    private MyArrayList<Item> itemList;
+    private int maxDepth;
+    private int nodesVisited;
+    private int entitiesTested;
+    private Vector3 center;
+
+    public LooseOctree()
+    {
+        this(SIZE);
+    }
+
+    /**
+     * Constructs an octree.
+     * The root grows when an entity leaves it, entities beyond the largest
+     * root are kept in the root.
+     * @param size The half size of the root around the origin
+     */
+    public LooseOctree(float size)
+    {
+        if (size <= 0f) throw new NegativeValueException("size");
+        this.root = new Node(null, 0f, 0f, 0f, size, 0);
+        this.items = new IdentityHashMap<>();
+        this.itemList = new MyArrayList<>();
+        this.maxDepth = MAX_DEPTH;
+        this.center = new Vector3();
+    }
+
+    public void add(Entity entity)
+    {
+        if (entity == null || items.containsKey(entity)) return;
+        Item item = new Item(entity);
+        measure(item);
+        items.put(entity, item);
+        itemList.add(item);
+        insert(item);
+    }
+
+    public void clear()
+    {
+        items.clear();
+        itemList.clear();
+        root = new Node(null, 0f, 0f, 0f, root.half, 0);
+    }
+
+    public boolean contains(Entity entity)
+    {
+        return items.containsKey(entity);
+    }
+
+    /**
+     * Finds every entity whose bounding sphere touches a frustum.
+     * @param frustum The frustum
+     * @param out The list to fill, cleared first
+     * @return {@link MyArrayList} - The list filled
+     */
+    public MyArrayList<Entity> cull(Frustum frustum, MyArrayList<Entity> out)
+    {
+        out.clear();
+        nodesVisited = 0;
+        entitiesTested = 0;
+        cull(root, frustum, out, false);
+        return out;
+    }
+
+    /**
+     * Gets how many entities were tested one by one in the last cull.
+     * @return {@link int} - The number of entities
+     */
+    public int entitiesTested()
+    {
+        return entitiesTested;
+    }
+
+    public int maxDepth()
+    {
+        return maxDepth;
+    }
+
+    /**
+     * Gets how many nodes were visited in the last cull.
+     * @return {@link int} - The number of nodes
+     */
+    public int nodesVisited()
+    {
+        return nodesVisited;
+    }
+
+    public void remove(Entity entity)
+    {
+        Item item = items.remove(entity);
+        if (item == null) return;
+        itemList.remove(item);
+        detach(item);
+    }
+
+    /**
+     * Sets how deep entities can be sorted.
+     * Takes effect as entities move.
+     * @param maxDepth The depth
+     */
+    public void setMaxDepth(int maxDepth)
+    {
+        if (maxDepth < 0) throw new NegativeValueException("maxDepth");
+        this.maxDepth = maxDepth;
+    }
+
+    public int size()
+    {
+        return itemList.size();
+    }
+
+    /**
+     * Moves entities that left their node.
+     * Call once per frame before culling.
+     */
+    public void update()
+    {
+        for (int i = 0; i < itemList.size(); i ++)
+        {
+            Item item = itemList.get(i);
+            measure(item);
+            if (fits(item.node, item)) continue;
+            detach(item);
+            insert(item);
+        }
+    }
+
+    private void cull(Node node,
+            Frustum frustum,
+            MyArrayList<Entity> out,
+            boolean inside)
+    {
+        if (node.count == 0) return;
+        nodesVisited ++;
+        if (!inside)
+        {
+            int result = classify(frustum, node);
+            if (result == OUTSIDE) return;
+            inside = result == INSIDE;
+        }
+        for (int i = 0; i < node.items.size(); i ++)
+        {
+            Item item = node.items.get(i);
+            if (!inside)
+            {
+                entitiesTested ++;
+                if (!frustum.sphereInFrustum(item.x, item.y, item.z,
+                        item.radius)) continue;
+            }
+            out.add(item.entity);
+        }
+        if (node.children == null) return;
+        for (Node child: node.children)
+        {
+            if (child != null) cull(child, frustum, out, inside);
+        }
+    }
+
+    private void detach(Item item)
+    {
+        Node node = item.node;
+        node.items.remove(item);
+        item.node = null;
+        while (node != null)
+        {
+            node.count --;
+            node = node.parent;
+        }
+    }
+
+    private void grow(Item item)
+    {
+        float half = root.half;
+        while (!fits(half, item) && half < MAX_SIZE) half *= 2f;
+        root = new Node(null, 0f, 0f, 0f, half, 0);
+        for (Item other: itemList)
+        {
+            other.node = null;
+            if (other != item) insert(other);
+        }
+    }
+
+    private void insert(Item item)
+    {
+        if (!fits(root, item) && root.half < MAX_SIZE) grow(item);
+        Node node = root;
+        boolean inRoot = fits(root, item);
+        while (inRoot && node.depth < maxDepth
+                && item.radius <= node.half * 0.5f * (LOOSENESS - 1f))
+        {
+            node = node.child(item);
+        }
+        node.items.add(item);
+        item.node = node;
+        while (node != null)
+        {
+            node.count ++;
+            node = node.parent;
+        }
+    }
+
+    private void measure(Item item)
+    {
+        item.entity.worldCenter(center);
+        item.x = center.x;
+        item.y = center.y;
+        item.z = center.z;
+        item.radius = item.entity.radius();
+    }
+
+    private static int classify(Frustum frustum, Node node)
+    {
+        float half = node.half * LOOSENESS;
+        int result = INSIDE;
+        for (Plane plane: frustum.planes)
+        {
+            Vector3 normal = plane.normal;
+            float distance = normal.x * node.x
+                    + normal.y * node.y
+                    + normal.z * node.z
+                    + plane.d;
+            float reach = half * (Math.abs(normal.x)
+                    + Math.abs(normal.y)
+                    + Math.abs(normal.z));
+            if (distance < -reach) return OUTSIDE;
+            if (distance < reach) result = INTERSECTS;
+        }
+        return result;
+    }
+
+    private static boolean fits(float half, Item item)
+    {
+        return Math.abs(item.x) <= half
+                && Math.abs(item.y) <= half
+                && Math.abs(item.z) <= half
+                && item.radius <= half * (LOOSENESS - 1f);
+    }
+
+    private static boolean fits(Node node, Item item)
+    {
+        return Math.abs(item.x - node.x) <= node.half
+                && Math.abs(item.y - node.y) <= node.half
+                && Math.abs(item.z - node.z) <= node.half
+                && item.radius <= node.half * (LOOSENESS - 1f);
+    }
+
+    private static class Item
+    {
+        private Entity entity;
+        private Node node;
+        private float x, y, z;
+        private float radius;
+
+        private Item(Entity entity)
+        {
+            this.entity = entity;
+        }
+    }
+
+    private static class Node
+    {
+        private Node parent;
+        private Node[] children;
+        private MyArrayList<Item> items;
+        private float x, y, z;
+        private float half;
+        private int depth;
+        private int count;
+
+        private Node(Node parent,
+                float x,
+                float y,
+                float z,
+                float half,
+                int depth)
+        {
+            this.parent = parent;
+            this.items = new MyArrayList<>();
+            this.x = x;
+            this.y = y;
+            this.z = z;
+            this.half = half;
+            this.depth = depth;
+        }
+
+        private Node child(Item item)
+        {
+            int index = (item.x >= x ? 1 : 0)
+                    | (item.y >= y ? 2 : 0)
+                    | (item.z >= z ? 4 : 0);
+            if (children == null) children = new Node[CHILDREN];
+            if (children[index] == null)
+            {
+                float quarter = half * 0.5f;
+                children[index] = new Node(this,
+                        x + ((index & 1) != 0 ? quarter : -quarter),
+                        y + ((index & 2) != 0 ? quarter : -quarter),
+                        z + ((index & 4) != 0 ? quarter : -quarter),
+                        quarter,
+                        depth + 1);
+            }
+            return children[index];
+        }
+    }
+}
@@ -0,0 +1,226 @@
+package com.jaxson.lib.gdx.graphics.g3d.util;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.utils.Array;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * Reduces the triangles of a model by clustering its vertices.
+ * Each mesh is split into a grid, every vertex in a cell is replaced by the
+ * one closest to their average and triangles that collapse are dropped.
+ * Kept vertices keep all their attributes, so bone weights and texture
+ * coordinates stay valid. Works on {@link ModelData}, before anything is
+ * sent to OpenGL.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public final class MeshSimplifier
+{
+    private static final int FLOAT_BYTES = Float.SIZE / Byte.SIZE;
+    private static final int AXIS_BITS = 21;
+    private static final int MAX_RESOLUTION = (1 << AXIS_BITS) - 2;
+    private static final int TRIANGLE = 3;
+
+    private MeshSimplifier()
+    {
+
+    }
+
+    /**
+     * Simplifies every mesh of a model.
+     * @param data The model
+     * @param resolution The number of cells along the longest side of each
+     * mesh, fewer gives fewer triangles
+     * @return {@link ModelData} - A model sharing the nodes, materials and
+     * animations of the original
+     */
+    public static ModelData simplify(ModelData data, int resolution)
+    {
+        if (resolution <= 0) throw new NegativeValueException("resolution");
+        if (resolution > MAX_RESOLUTION)
+        {
+            throw new IllegalArgumentException(
+                    "At most " + MAX_RESOLUTION + " cells");
+        }
+        Array<ModelMesh> meshes = new Array<>();
+        for (ModelMesh mesh: data.meshes)
+        {
+            meshes.add(simplify(mesh, resolution));
+        }
+        return withMeshes(data, meshes);
+    }
+
+    /**
+     * Copies a model with other meshes.
+     * @param data The model
+     * @param meshes The meshes, with the same ids as the originals
+     * @return {@link ModelData} - A model sharing the nodes, materials and
+     * animations of the original
+     */
+    public static ModelData withMeshes(ModelData data, Array<ModelMesh> meshes)
+    {
+        ModelData out = new ModelData();
+        out.id = data.id;
+        out.version[0] = data.version[0];
+        out.version[1] = data.version[1];
+        out.meshes.addAll(meshes);
+        out.materials.addAll(data.materials);
+        out.nodes.addAll(data.nodes);
+        out.animations.addAll(data.animations);
+        return out;
+    }
+
+    private static int cell(float value, float min, float size, int resolution)
+    {
+        return Math.min((int) ((value - min) / size), resolution);
+    }
+
+    private static ModelMeshPart part(ModelMeshPart part, int[] clusters)
+    {
+        short[] indices = new short[part.indices.length];
+        int count = 0;
+        if (part.primitiveType != GL20.GL_TRIANGLES)
+        {
+            for (short index: part.indices)
+            {
+                indices[count ++] = (short) clusters[index & 0xFFFF];
+            }
+        }
+        else
+        {
+            for (int i = 0; i + TRIANGLE <= part.indices.length; i += TRIANGLE)
+            {
+                int a = clusters[part.indices[i] & 0xFFFF];
+                int b = clusters[part.indices[i + 1] & 0xFFFF];
+                int c = clusters[part.indices[i + 2] & 0xFFFF];
+                if (a == b || b == c || a == c) continue;
+                indices[count ++] = (short) a;
+                indices[count ++] = (short) b;
+                indices[count ++] = (short) c;
+            }
+            if (count == 0 && indices.length > 0)
+            {
+                short kept = (short) clusters[part.indices[0] & 0xFFFF];
+                indices[count ++] = kept;
+                indices[count ++] = kept;
+                indices[count ++] = kept;
+            }
+        }
+        ModelMeshPart out = new ModelMeshPart();
+        out.id = part.id;
+        out.primitiveType = part.primitiveType;
+        out.indices = Arrays.copyOf(indices, count);
+        return out;
+    }
+
+    private static ModelMesh simplify(ModelMesh mesh, int resolution)
+    {
+        VertexAttributes attributes = new VertexAttributes(mesh.attributes);
+        VertexAttribute position = attributes.findByUsage(Usage.Position);
+        if (position == null) return mesh;
+        for (ModelMeshPart part: mesh.parts)
+        {
+            if (part.indices == null) return mesh;
+        }
+        int stride = attributes.vertexSize / FLOAT_BYTES;
+        int offset = position.offset / FLOAT_BYTES;
+        float[] vertices = mesh.vertices;
+        int count = vertices.length / stride;
+        if (count == 0) return mesh;
+
+        float[] min = {
+                Float.POSITIVE_INFINITY,
+                Float.POSITIVE_INFINITY,
+                Float.POSITIVE_INFINITY };
+        float[] max = {
+                Float.NEGATIVE_INFINITY,
+                Float.NEGATIVE_INFINITY,
+                Float.NEGATIVE_INFINITY };
+        for (int v = 0; v < count; v ++)
+        {
+            for (int axis = 0; axis < TRIANGLE; axis ++)
+            {
+                float value = vertices[v * stride + offset + axis];
+                min[axis] = Math.min(min[axis], value);
+                max[axis] = Math.max(max[axis], value);
+            }
+        }
+        float size = Math.max(max[0] - min[0],
+                Math.max(max[1] - min[1], max[2] - min[2])) / resolution;
+        if (size <= 0f) return mesh;
+
+        Map<Long, Integer> cells = new HashMap<>();
+        int[] clusters = new int[count];
+        float[] sums = new float[count * TRIANGLE];
+        int[] sizes = new int[count];
+        for (int v = 0; v < count; v ++)
+        {
+            int base = v * stride + offset;
+            long key = 0L;
+            for (int axis = 0; axis < TRIANGLE; axis ++)
+            {
+                key = key << AXIS_BITS | cell(vertices[base + axis],
+                        min[axis], size, resolution);
+            }
+            Integer cluster = cells.get(key);
+            if (cluster == null)
+            {
+                cluster = cells.size();
+                cells.put(key, cluster);
+            }
+            clusters[v] = cluster;
+            for (int axis = 0; axis < TRIANGLE; axis ++)
+            {
+                sums[cluster * TRIANGLE + axis] += vertices[base + axis];
+            }
+            sizes[cluster] ++;
+        }
+
+        int kept = cells.size();
+        int[] representatives = new int[kept];
+        float[] distances = new float[kept];
+        Arrays.fill(representatives, -1);
+        for (int v = 0; v < count; v ++)
+        {
+            int cluster = clusters[v];
+            float distance = 0f;
+            for (int axis = 0; axis < TRIANGLE; axis ++)
+            {
+                float delta = vertices[v * stride + offset + axis]
+                        - sums[cluster * TRIANGLE + axis] / sizes[cluster];
+                distance += delta * delta;
+            }
+            if (representatives[cluster] < 0
+                    || distance < distances[cluster])
+            {
+                representatives[cluster] = v;
+                distances[cluster] = distance;
+            }
+        }
+
+        ModelMesh out = new ModelMesh();
+        out.id = mesh.id;
+        out.attributes = mesh.attributes;
+        out.vertices = new float[kept * stride];
+        for (int cluster = 0; cluster < kept; cluster ++)
+        {
+            System.arraycopy(vertices, representatives[cluster] * stride,
+                    out.vertices, cluster * stride, stride);
+        }
+        out.parts = new ModelMeshPart[mesh.parts.length];
+        for (int i = 0; i < mesh.parts.length; i ++)
+        {
+            out.parts[i] = part(mesh.parts[i], clusters);
+        }
+        return out;
+    }
+}
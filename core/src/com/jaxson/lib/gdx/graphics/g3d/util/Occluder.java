@@ -0,0 +1,132 @@
+package com.jaxson.lib.gdx.graphics.g3d.util;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g3d.model.MeshPart;
+import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.graphics.g3d.model.NodePart;
+import com.badlogic.gdx.math.Vector3;
+import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
+
+/**
+ * An entity drawn into an {@link OcclusionBuffer}.
+ * The triangles of the model are read once, with the node transforms baked
+ * in, so only the entity transform is applied each frame.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class Occluder
+{
+    private static final int VERTEX = 3;
+    private static final int FLOAT_BYTES = Float.SIZE / Byte.SIZE;
+
+    private Entity entity;
+    private float[] vertices;
+
+    /**
+     * Constructs an occluder from the meshes of an entity.
+     * @param entity The entity
+     */
+    public Occluder(Entity entity)
+    {
+        this.entity = entity;
+        this.vertices = read(entity);
+    }
+
+    /**
+     * Rasterizes the occluder where the entity is now.
+     * @param buffer The buffer to draw into
+     */
+    public void draw(OcclusionBuffer buffer)
+    {
+        buffer.draw(vertices, entity.transform());
+    }
+
+    public Entity entity()
+    {
+        return entity;
+    }
+
+    /**
+     * Gets how many triangles the occluder has.
+     * @return {@link int} - The number of triangles
+     */
+    public int triangles()
+    {
+        return vertices.length / (VERTEX * VERTEX);
+    }
+
+    private static int count(Iterable<Node> nodes)
+    {
+        int count = 0;
+        for (Node node: nodes)
+        {
+            for (NodePart part: node.parts)
+            {
+                if (isTriangles(part.meshPart)) count += part.meshPart.size;
+            }
+            count += count(node.getChildren());
+        }
+        return count;
+    }
+
+    private static boolean isTriangles(MeshPart part)
+    {
+        return part.primitiveType == GL20.GL_TRIANGLES
+                && part.mesh.getVertexAttribute(Usage.Position) != null;
+    }
+
+    private static float[] read(Entity entity)
+    {
+        Iterable<Node> nodes = entity.modelInstance().nodes;
+        float[] out = new float[count(nodes) * VERTEX];
+        read(nodes, out, 0, new Vector3());
+        return out;
+    }
+
+    private static int read(Iterable<Node> nodes,
+            float[] out,
+            int offset,
+            Vector3 tmp)
+    {
+        for (Node node: nodes)
+        {
+            for (NodePart part: node.parts)
+            {
+                MeshPart meshPart = part.meshPart;
+                if (!isTriangles(meshPart)) continue;
+                Mesh mesh = meshPart.mesh;
+                VertexAttribute position = mesh
+                        .getVertexAttribute(Usage.Position);
+                int stride = mesh.getVertexSize() / FLOAT_BYTES;
+                int start = position.offset / FLOAT_BYTES;
+                float[] meshVertices = new float[mesh.getNumVertices()
+                        * stride];
+                mesh.getVertices(meshVertices);
+                short[] indices = null;
+                if (mesh.getNumIndices() > 0)
+                {
+                    indices = new short[mesh.getNumIndices()];
+                    mesh.getIndices(indices);
+                }
+                int end = meshPart.offset + meshPart.size;
+                for (int i = meshPart.offset; i < end; i ++)
+                {
+                    int index = indices == null ? i : indices[i] & 0xFFFF;
+                    int base = index * stride + start;
+                    tmp.set(meshVertices[base],
+                            meshVertices[base + 1],
+                            meshVertices[base + 2]);
+                    tmp.mul(node.globalTransform);
+                    out[offset ++] = tmp.x;
+                    out[offset ++] = tmp.y;
+                    out[offset ++] = tmp.z;
+                }
+            }
+            offset = read(node.getChildren(), out, offset, tmp);
+        }
+        return offset;
+    }
+}
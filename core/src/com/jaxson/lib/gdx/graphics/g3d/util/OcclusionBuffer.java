@@ -0,0 +1,256 @@
+package com.jaxson.lib.gdx.graphics.g3d.util;
+
+import java.util.Arrays;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * A small depth buffer drawn on the CPU.
+ * Occluders are rasterized into it, then bounding boxes are tested against
+ * it to find what is hidden behind them. Both are conservative: occluders
+ * only fill pixels they cover entirely, at the farthest depth they reach in
+ * the pixel, and a box is hidden only if it is behind the occluders at every
+ * pixel it touches. Runs without OpenGL.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class OcclusionBuffer
+{
+    private static final int WIDTH = 256;
+    private static final int HEIGHT = 144;
+    private static final float FAR = 1f;
+    private static final float MIN_W = 1e-5f;
+    private static final int VERTEX = 3;
+    private static final int TRIANGLE = VERTEX * 3;
+    private static final int CORNERS = 8;
+
+    private int width, height;
+    private float[] depth;
+    private Matrix4 projectionView;
+    private Matrix4 combined;
+    private float[] screen;
+    private int triangles;
+
+    public OcclusionBuffer()
+    {
+        this(WIDTH, HEIGHT);
+    }
+
+    /**
+     * Constructs a buffer.
+     * @param width The width in pixels
+     * @param height The height in pixels
+     */
+    public OcclusionBuffer(int width, int height)
+    {
+        if (width <= 0) throw new NegativeValueException("width");
+        if (height <= 0) throw new NegativeValueException("height");
+        this.width = width;
+        this.height = height;
+        this.depth = new float[width * height];
+        this.projectionView = new Matrix4();
+        this.combined = new Matrix4();
+        this.screen = new float[TRIANGLE];
+    }
+
+    /**
+     * Clears the buffer for a new frame.
+     * @param projectionView The combined matrix of the camera
+     */
+    public void begin(Matrix4 projectionView)
+    {
+        this.projectionView.set(projectionView);
+        Arrays.fill(depth, FAR);
+        triangles = 0;
+    }
+
+    /**
+     * Gets the depth at a pixel.
+     * @param x The column
+     * @param y The row from the bottom
+     * @return {@link float} - The depth from {@code -1} near to {@code 1}
+     * far
+     */
+    public float depth(int x, int y)
+    {
+        return depth[y * width + x];
+    }
+
+    /**
+     * Rasterizes triangles into the buffer.
+     * Triangles crossing the near plane are skipped.
+     * @param vertices The triangles, three positions of three floats each
+     * @param transform The world transform of the triangles
+     */
+    public void draw(float[] vertices, Matrix4 transform)
+    {
+        combined.set(projectionView).mul(transform);
+        float[] m = combined.val;
+        for (int i = 0; i + TRIANGLE <= vertices.length; i += TRIANGLE)
+        {
+            boolean clipped = false;
+            for (int v = 0; v < TRIANGLE; v += VERTEX)
+            {
+                float x = vertices[i + v];
+                float y = vertices[i + v + 1];
+                float z = vertices[i + v + 2];
+                float w = m[Matrix4.M30] * x + m[Matrix4.M31] * y
+                        + m[Matrix4.M32] * z + m[Matrix4.M33];
+                if (w < MIN_W)
+                {
+                    clipped = true;
+                    break;
+                }
+                screen[v] = toScreen(m[Matrix4.M00] * x + m[Matrix4.M01] * y
+                        + m[Matrix4.M02] * z + m[Matrix4.M03], w, width);
+                screen[v + 1] = toScreen(m[Matrix4.M10] * x
+                        + m[Matrix4.M11] * y
+                        + m[Matrix4.M12] * z + m[Matrix4.M13], w, height);
+                screen[v + 2] = (m[Matrix4.M20] * x + m[Matrix4.M21] * y
+                        + m[Matrix4.M22] * z + m[Matrix4.M23]) / w;
+            }
+            if (clipped) continue;
+            rasterize();
+        }
+    }
+
+    public int height()
+    {
+        return height;
+    }
+
+    /**
+     * Gets whether any part of a box could be seen past the occluders.
+     * Boxes crossing the near plane or leaving the screen count as visible.
+     * @param box The box
+     * @param transform The world transform of the box
+     * @return {@link boolean} - Whether the box may be visible
+     */
+    public boolean isVisible(BoundingBox box, Matrix4 transform)
+    {
+        combined.set(projectionView).mul(transform);
+        float[] m = combined.val;
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float nearest = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < CORNERS; i ++)
+        {
+            float x = (i & 1) == 0 ? box.min.x : box.max.x;
+            float y = (i & 2) == 0 ? box.min.y : box.max.y;
+            float z = (i & 4) == 0 ? box.min.z : box.max.z;
+            float w = m[Matrix4.M30] * x + m[Matrix4.M31] * y
+                    + m[Matrix4.M32] * z + m[Matrix4.M33];
+            if (w < MIN_W) return true;
+            float sx = toScreen(m[Matrix4.M00] * x + m[Matrix4.M01] * y
+                    + m[Matrix4.M02] * z + m[Matrix4.M03], w, width);
+            float sy = toScreen(m[Matrix4.M10] * x + m[Matrix4.M11] * y
+                    + m[Matrix4.M12] * z + m[Matrix4.M13], w, height);
+            float sz = (m[Matrix4.M20] * x + m[Matrix4.M21] * y
+                    + m[Matrix4.M22] * z + m[Matrix4.M23]) / w;
+            minX = Math.min(minX, sx);
+            minY = Math.min(minY, sy);
+            maxX = Math.max(maxX, sx);
+            maxY = Math.max(maxY, sy);
+            nearest = Math.min(nearest, sz);
+        }
+        if (minX < 0f || minY < 0f || maxX > width || maxY > height)
+            return true;
+        int startX = (int) minX;
+        int startY = (int) minY;
+        int endX = Math.min((int) Math.ceil(maxX), width);
+        int endY = Math.min((int) Math.ceil(maxY), height);
+        for (int y = startY; y < endY; y ++)
+        {
+            int row = y * width;
+            for (int x = startX; x < endX; x ++)
+            {
+                if (nearest <= depth[row + x]) return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets how many triangles were rasterized since {@link #begin(Matrix4)}.
+     * @return {@link int} - The number of triangles
+     */
+    public int triangles()
+    {
+        return triangles;
+    }
+
+    public int width()
+    {
+        return width;
+    }
+
+    /**
+     * Fills the pixels the triangle covers entirely with its farthest depth
+     * in them. Edges and depth are linear, so their extremes over a pixel
+     * are their values at its center plus or minus half their slopes.
+     */
+    private void rasterize()
+    {
+        float x0 = screen[0], y0 = screen[1], z0 = screen[2];
+        float x1 = screen[3], y1 = screen[4], z1 = screen[5];
+        float x2 = screen[6], y2 = screen[7], z2 = screen[8];
+        float area = edge(x0, y0, x1, y1, x2, y2);
+        if (area == 0f) return;
+        float sign = Math.signum(area);
+        area = Math.abs(area);
+
+        int startX = Math.max((int) Math.floor(Math.min(x0,
+                Math.min(x1, x2))), 0);
+        int startY = Math.max((int) Math.floor(Math.min(y0,
+                Math.min(y1, y2))), 0);
+        int endX = Math.min((int) Math.ceil(Math.max(x0,
+                Math.max(x1, x2))), width - 1);
+        int endY = Math.min((int) Math.ceil(Math.max(y0,
+                Math.max(y1, y2))), height - 1);
+        if (startX > endX || startY > endY) return;
+        triangles ++;
+
+        float margin0 = 0.5f * (Math.abs(x2 - x1) + Math.abs(y2 - y1));
+        float margin1 = 0.5f * (Math.abs(x0 - x2) + Math.abs(y0 - y2));
+        float margin2 = 0.5f * (Math.abs(x1 - x0) + Math.abs(y1 - y0));
+        float slopeX = (z0 * (y2 - y1) + z1 * (y0 - y2) + z2 * (y1 - y0))
+                / area;
+        float slopeY = (z0 * (x2 - x1) + z1 * (x0 - x2) + z2 * (x1 - x0))
+                / area;
+        float farthest = 0.5f * (Math.abs(slopeX) + Math.abs(slopeY));
+
+        for (int y = startY; y <= endY; y ++)
+        {
+            float cy = y + 0.5f;
+            int row = y * width;
+            for (int x = startX; x <= endX; x ++)
+            {
+                float cx = x + 0.5f;
+                float w0 = sign * edge(x1, y1, x2, y2, cx, cy);
+                float w1 = sign * edge(x2, y2, x0, y0, cx, cy);
+                float w2 = sign * edge(x0, y0, x1, y1, cx, cy);
+                if (w0 < margin0 || w1 < margin1 || w2 < margin2) continue;
+                float z = (w0 * z0 + w1 * z1 + w2 * z2) / area + farthest;
+                if (z < depth[row + x]) depth[row + x] = z;
+            }
+        }
+    }
+
+    private static float edge(float ax,
+            float ay,
+            float bx,
+            float by,
+            float cx,
+            float cy)
+    {
+        return (bx - ax) * (cy - ay) - (by - ay) * (cx - ax);
+    }
+
+    private static float toScreen(float value, float w, int size)
+    {
+        return (value / w * 0.5f + 0.5f) * size;
+    }
+}
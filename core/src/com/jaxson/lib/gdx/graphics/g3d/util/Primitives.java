@@ -0,0 +1,82 @@
+package com.jaxson.lib.gdx.graphics.g3d.util;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.g3d.Model;
+
+/**
+ * Shares the meshes of primitive {@link Model}s between entities.
+ * Every primitive is built once in white and reference counted, entities
+ * tint their own copy of the material. Entities sharing a primitive can be
+ * drawn in one call by an {@link InstancedRenderer}.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public final class Primitives
+{
+    private static final Color COLOR = Color.WHITE;
+
+    private static Model box;
+    private static Model sphere;
+    private static Map<Model, Integer> references = new IdentityHashMap<>();
+
+    private Primitives()
+    {
+
+    }
+
+    /**
+     * Gets the shared unit box.
+     * @return {@link Model} - The box, release it with
+     * {@link #release(Model)}
+     */
+    public static Model box()
+    {
+        if (box == null) box = new MyModelBuilder().createBox(COLOR);
+        return acquire(box);
+    }
+
+    public static boolean contains(Model model)
+    {
+        return references.containsKey(model);
+    }
+
+    /**
+     * Releases one reference to a shared primitive.
+     * The model is disposed once nothing references it.
+     * @param model The model
+     */
+    public static void release(Model model)
+    {
+        Integer count = references.get(model);
+        if (count == null) return;
+        if (count > 1)
+        {
+            references.put(model, count - 1);
+            return;
+        }
+        references.remove(model);
+        if (model == box) box = null;
+        if (model == sphere) sphere = null;
+        model.dispose();
+    }
+
+    /**
+     * Gets the shared unit sphere.
+     * @return {@link Model} - The sphere, release it with
+     * {@link #release(Model)}
+     */
+    public static Model sphere()
+    {
+        if (sphere == null) sphere = new MyModelBuilder().createSphere(COLOR);
+        return acquire(sphere);
+    }
+
+    private static Model acquire(Model model)
+    {
+        Integer count = references.get(model);
+        references.put(model, count == null ? 1 : count + 1);
+        return model;
+    }
+}
@@ -0,0 +1,199 @@
+package com.jaxson.lib.gdx.graphics.g3d.util;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+
+/**
+ * Orders the renderables of a {@link com.badlogic.gdx.graphics.g3d.ModelBatch}
+ * to avoid state changes.
+ * Opaque renderables are grouped by shader, then material, then drawn front
+ * to back for early depth rejection. Blended renderables follow back to
+ * front. The counters add up every batch sorted since
+ * {@link #resetCounts()}.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class RenderQueue implements RenderableSorter
+{
+    private static final long BLENDED = 1L << 62;
+    private static final int SHADER_SHIFT = 48;
+    private static final int MATERIAL_SHIFT = 32;
+    private static final int MAX_SHADERS = (1 << 14) - 1;
+    private static final int MAX_MATERIALS = (1 << 16) - 1;
+    private static final long DEPTH_MASK = 0xffffffffL;
+    private static final int CAPACITY = 64;
+
+    private static final Comparator<Entry> ORDER = new Comparator<Entry>()
+    {
+        @Override
+        public int compare(Entry first, Entry second)
+        {
+            if (first.key == second.key) return 0;
+            return first.key < second.key ? -1 : 1;
+        }
+    };
+
+    private Map<Shader, Integer> shaders;
+    private Map<Material, Integer> materials;
+    private Entry[] entries;
+    private Vector3 center;
+    private int shaderSwitches;
+    private int materialSwitches;
+    private int switchesAvoided;
+
+    public RenderQueue()
+    {
+        this.shaders = new IdentityHashMap<>();
+        this.materials = new HashMap<>();
+        this.entries = new Entry[0];
+        this.center = new Vector3();
+        grow(CAPACITY);
+    }
+
+    /**
+     * Gets how many material changes the sorted batches have.
+     * @return {@link int} - The number of changes
+     */
+    public int materialSwitches()
+    {
+        return materialSwitches;
+    }
+
+    /**
+     * Gets how many shader changes the sorted batches have.
+     * @return {@link int} - The number of changes
+     */
+    public int shaderSwitches()
+    {
+        return shaderSwitches;
+    }
+
+    /**
+     * Zeroes the counters, call once at the start of a frame.
+     */
+    public void resetCounts()
+    {
+        shaderSwitches = 0;
+        materialSwitches = 0;
+        switchesAvoided = 0;
+    }
+
+    @Override
+    public void sort(Camera camera, Array<Renderable> renderables)
+    {
+        int size = renderables.size;
+        if (entries.length < size) grow(size);
+        int unsorted = switches(renderables);
+
+        for (int i = 0; i < size; i ++)
+        {
+            Renderable renderable = renderables.get(i);
+            Entry entry = entries[i];
+            entry.renderable = renderable;
+            entry.key = key(camera, renderable);
+        }
+        Arrays.sort(entries, 0, size, ORDER);
+        for (int i = 0; i < size; i ++)
+        {
+            renderables.set(i, entries[i].renderable);
+            entries[i].renderable = null;
+        }
+
+        int shaderChanges = 0;
+        int materialChanges = 0;
+        for (int i = 1; i < size; i ++)
+        {
+            Renderable previous = renderables.get(i - 1);
+            Renderable renderable = renderables.get(i);
+            if (renderable.shader != previous.shader) shaderChanges ++;
+            if (!renderable.material.equals(previous.material))
+                materialChanges ++;
+        }
+        shaderSwitches += shaderChanges;
+        materialSwitches += materialChanges;
+        switchesAvoided += Math.max(unsorted
+                - shaderChanges - materialChanges, 0);
+        shaders.clear();
+        materials.clear();
+    }
+
+    /**
+     * Gets how many shader and material changes sorting saved on the
+     * sorted batches.
+     * @return {@link int} - The number of changes avoided
+     */
+    public int switchesAvoided()
+    {
+        return switchesAvoided;
+    }
+
+    private void grow(int capacity)
+    {
+        int size = entries.length;
+        entries = Arrays.copyOf(entries, Math.max(capacity, size * 2));
+        for (int i = size; i < entries.length; i ++)
+        {
+            entries[i] = new Entry();
+        }
+    }
+
+    private long key(Camera camera, Renderable renderable)
+    {
+        center.set(renderable.meshPart.center).mul(renderable.worldTransform);
+        long depth = Float.floatToIntBits(camera.position.dst2(center))
+                & DEPTH_MASK;
+        if (isBlended(renderable.material))
+            return BLENDED | (~depth & DEPTH_MASK);
+        long shader = rank(shaders, renderable.shader, MAX_SHADERS);
+        long material = rank(materials, renderable.material, MAX_MATERIALS);
+        return shader << SHADER_SHIFT | material << MATERIAL_SHIFT | depth;
+    }
+
+    private int switches(Array<Renderable> renderables)
+    {
+        int switches = 0;
+        for (int i = 1; i < renderables.size; i ++)
+        {
+            Renderable previous = renderables.get(i - 1);
+            Renderable renderable = renderables.get(i);
+            if (renderable.shader != previous.shader) switches ++;
+            if (!renderable.material.equals(previous.material)) switches ++;
+        }
+        return switches;
+    }
+
+    private static boolean isBlended(Material material)
+    {
+        BlendingAttribute blending = (BlendingAttribute) material.get(
+                BlendingAttribute.Type);
+        return blending != null && blending.blended;
+    }
+
+    private static <K> long rank(Map<K, Integer> ranks, K key, int max)
+    {
+        Integer rank = ranks.get(key);
+        if (rank == null)
+        {
+            rank = Math.min(ranks.size(), max);
+            ranks.put(key, rank);
+        }
+        return rank;
+    }
+
+    private static class Entry
+    {
+        private Renderable renderable;
+        private long key;
+    }
+}
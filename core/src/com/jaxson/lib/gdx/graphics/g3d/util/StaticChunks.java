@@ -0,0 +1,202 @@
+package com.jaxson.lib.gdx.graphics.g3d.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import com.badlogic.gdx.graphics.g3d.ModelCache;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.RenderableProvider;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
+import com.jaxson.lib.util.MyArrayList;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * Static entities merged by material in the cells of a grid.
+ * Each cell is one {@link ModelCache} with a bounding sphere of its own, so
+ * cells near the camera can pick a sharper shadow cascade than far ones.
+ * Drawn as a whole, as into a shadow map, every cell is drawn.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class StaticChunks implements RenderableProvider
+{
+    private static final float CHUNK_SIZE = 16f;
+    private static final int AXIS_BITS = 21;
+    private static final int AXIS_OFFSET = 1 << (AXIS_BITS - 1);
+    private static final long AXIS_MASK = (1L << AXIS_BITS) - 1;
+
+    private float chunkSize;
+    private MyArrayList<Chunk> chunks;
+    private Map<Long, Chunk> cells;
+    private Vector3 center;
+
+    public StaticChunks()
+    {
+        this(CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs the chunks.
+     * @param chunkSize The width of a cell of the grid
+     */
+    public StaticChunks(float chunkSize)
+    {
+        if (chunkSize <= 0f) throw new NegativeValueException("chunkSize");
+        this.chunkSize = chunkSize;
+        this.chunks = new MyArrayList<>();
+        this.cells = new HashMap<>();
+        this.center = new Vector3();
+    }
+
+    /**
+     * Merges entities into the cells their centers are in.
+     * Every cell built before is thrown away, see {@link #clear()}.
+     * @param entities The static entities
+     */
+    public void build(MyArrayList<Entity> entities)
+    {
+        clear();
+        for (Entity entity: entities)
+        {
+            entity.worldCenter(center);
+            long key = key(center);
+            Chunk chunk = cells.get(key);
+            if (chunk == null)
+            {
+                chunk = new Chunk();
+                cells.put(key, chunk);
+                chunks.add(chunk);
+            }
+            chunk.entities.add(entity);
+            chunk.bounds.ext(center, entity.radius());
+        }
+        for (Chunk chunk: chunks)
+        {
+            chunk.build();
+        }
+    }
+
+    private long cell(float value)
+    {
+        return ((long) Math.floor(value / chunkSize) + AXIS_OFFSET)
+                & AXIS_MASK;
+    }
+
+    /**
+     * Throws away every cell.
+     */
+    public void clear()
+    {
+        for (Chunk chunk: chunks)
+        {
+            chunk.cache.dispose();
+        }
+        chunks.clear();
+        cells.clear();
+    }
+
+    /**
+     * Gets the center of the bounding sphere of a cell.
+     * @param index The index of the cell
+     * @return {@link Vector3} - The center
+     */
+    public Vector3 center(int index)
+    {
+        return chunks.get(index).center;
+    }
+
+    /**
+     * Gets the merged geometry of a cell.
+     * @param index The index of the cell
+     * @return {@link RenderableProvider} - The geometry
+     */
+    public RenderableProvider chunk(int index)
+    {
+        return chunks.get(index).cache;
+    }
+
+    public float chunkSize()
+    {
+        return chunkSize;
+    }
+
+    public void dispose()
+    {
+        clear();
+    }
+
+    @Override
+    public void getRenderables(Array<Renderable> renderables,
+            Pool<Renderable> pool)
+    {
+        for (Chunk chunk: chunks)
+        {
+            chunk.cache.getRenderables(renderables, pool);
+        }
+    }
+
+    public boolean isEmpty()
+    {
+        return chunks.isEmpty();
+    }
+
+    private long key(Vector3 point)
+    {
+        long key = 0L;
+        key = key << AXIS_BITS | cell(point.x);
+        key = key << AXIS_BITS | cell(point.y);
+        key = key << AXIS_BITS | cell(point.z);
+        return key;
+    }
+
+    /**
+     * Gets the radius of the bounding sphere of a cell.
+     * @param index The index of the cell
+     * @return {@link float} - The radius
+     */
+    public float radius(int index)
+    {
+        return chunks.get(index).radius;
+    }
+
+    /**
+     * Gets how many cells hold entities.
+     * @return {@link int} - The number of cells
+     */
+    public int size()
+    {
+        return chunks.size();
+    }
+
+    private static class Chunk
+    {
+        private ModelCache cache;
+        private MyArrayList<Entity> entities;
+        private BoundingBox bounds;
+        private Vector3 center;
+        private float radius;
+
+        public Chunk()
+        {
+            this.cache = new ModelCache();
+            this.entities = new MyArrayList<>();
+            this.bounds = new BoundingBox().inf();
+            this.center = new Vector3();
+        }
+
+        public void build()
+        {
+            cache.begin();
+            for (Entity entity: entities)
+            {
+                cache.add(entity.modelInstance());
+            }
+            cache.end();
+            bounds.getCenter(center);
+            radius = bounds.getDimensions(new Vector3()).len() * 0.5f;
+        }
+    }
+}
@@ -0,0 +1,262 @@
+package com.jaxson.lib.gdx.graphics.views;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.FrameBuffer;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.viewport.Viewport;
+import com.jaxson.lib.gdx.GameConfig;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * Renders a {@link Viewport} off screen at a scale that follows the frame
+ * time.
+ * Two times are averaged over a window of frames and compared against the
+ * frame budget. The frame time is taken between frames, so it includes
+ * waiting on the GPU and on vsync. The work time runs from
+ * {@link #beginFrame()} to the end of the model pass. The scale drops when
+ * the frame time runs over the budget by more than the hysteresis. It rises
+ * when the work time runs under by as much, so a frame rate capped at the
+ * target still shows its headroom and the scale recovers after a hitch.
+ * The samples restart after every change so the new scale is measured
+ * before the next one.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class DynamicResolution
+{
+    private static final int SAMPLES = 30;
+    private static final float STEP = 0.1f;
+    private static final float MILLIS = 1000f;
+    private static final float NANOS_PER_MILLI = 1000000f;
+    private static final int CLEAR_MASK
+            = GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT;
+
+    private FrameBuffer buffer;
+    private float minScale;
+    private float maxScale;
+    private float scale;
+    private float budget;
+    private float hysteresis;
+    private float[] samples;
+    private float[] workSamples;
+    private int sampleCount;
+    private int sampleIndex;
+    private float frameTime;
+    private float workTime;
+    private long frameStart;
+    private long modelStart;
+    private float lastWork;
+    private int width, height;
+    private int scaledWidth, scaledHeight;
+    private Matrix4 projection;
+    private boolean drawing;
+
+    /**
+     * Constructs from the resolution settings of a {@link GameConfig}.
+     * @param config The config
+     */
+    public DynamicResolution(GameConfig config)
+    {
+        this(config.minResolutionScale(),
+                config.maxResolutionScale(),
+                config.targetFps(),
+                config.resolutionHysteresis());
+    }
+
+    /**
+     * Constructs a dynamic resolution.
+     * @param minScale The smallest scale
+     * @param maxScale The largest scale
+     * @param targetFps The frame rate to keep
+     * @param hysteresis How far from the budget the frame time has to be
+     * before the scale changes, as a fraction of the budget
+     */
+    public DynamicResolution(float minScale,
+            float maxScale,
+            int targetFps,
+            float hysteresis)
+    {
+        if (minScale <= 0f) throw new NegativeValueException("minScale");
+        if (maxScale < minScale)
+        {
+            throw new IllegalArgumentException(
+                    "The max scale is less than the min scale");
+        }
+        if (targetFps <= 0) throw new NegativeValueException("targetFps");
+        if (hysteresis < 0f) throw new NegativeValueException("hysteresis");
+        this.minScale = minScale;
+        this.maxScale = maxScale;
+        this.scale = maxScale;
+        this.budget = MILLIS / targetFps;
+        this.hysteresis = hysteresis;
+        this.samples = new float[SAMPLES];
+        this.workSamples = new float[SAMPLES];
+        this.projection = new Matrix4();
+    }
+
+    /**
+     * Starts drawing the viewport off screen.
+     * Measures the last frame and adjusts the scale first.
+     * @param viewport The viewport
+     */
+    public void begin(Viewport viewport)
+    {
+        measure(Gdx.graphics.getRawDeltaTime() * MILLIS, lastWork);
+        modelStart = System.nanoTime();
+        width = Gdx.graphics.getWidth();
+        height = Gdx.graphics.getHeight();
+        if (width <= 0 || height <= 0) return;
+        if (buffer == null) create();
+        scaledWidth = Math.max(MathUtils.round(width * scale), 1);
+        scaledHeight = Math.max(MathUtils.round(height * scale), 1);
+        buffer.begin();
+        viewport.update(scaledWidth, scaledHeight);
+        Gdx.gl.glClear(CLEAR_MASK);
+        drawing = true;
+    }
+
+    /**
+     * Marks the start of a frame's work, before updating the game.
+     * Without it the work time only covers the model pass.
+     */
+    public void beginFrame()
+    {
+        frameStart = System.nanoTime();
+    }
+
+    public void dispose()
+    {
+        if (buffer != null) buffer.dispose();
+        buffer = null;
+    }
+
+    /**
+     * Stops drawing off screen and draws the result over the window.
+     * @param viewport The viewport
+     * @param batch The batch to upscale with, must not be drawing
+     */
+    public void end(Viewport viewport, SpriteBatch batch)
+    {
+        if (!drawing) return;
+        drawing = false;
+        buffer.end();
+        viewport.update(width, height);
+
+        Texture texture = buffer.getColorBufferTexture();
+        projection.setToOrtho2D(0f, 0f, width, height);
+        batch.setProjectionMatrix(projection);
+        batch.disableBlending();
+        batch.begin();
+        batch.draw(texture,
+                0f,
+                0f,
+                width,
+                height,
+                0,
+                0,
+                scaledWidth,
+                scaledHeight,
+                false,
+                true);
+        batch.end();
+        batch.enableBlending();
+
+        long start = frameStart != 0L ? frameStart : modelStart;
+        lastWork = (System.nanoTime() - start) / NANOS_PER_MILLI;
+        frameStart = 0L;
+    }
+
+    /**
+     * Gets the average frame time.
+     * @return {@link float} - The frame time in milliseconds
+     */
+    public float frameTime()
+    {
+        return frameTime;
+    }
+
+    /**
+     * Frees the buffer, it is created again at the new size.
+     * @param width The width of the window
+     * @param height The height of the window
+     */
+    public void resize(int width, int height)
+    {
+        dispose();
+    }
+
+    /**
+     * Gets the scale the viewport is drawn at.
+     * @return {@link float} - The scale
+     */
+    public float scale()
+    {
+        return scale;
+    }
+
+    /**
+     * Sets the scale and restarts the measurement.
+     * @param scale The scale, clamped to the min and max scale
+     */
+    public void setScale(float scale)
+    {
+        this.scale = MathUtils.clamp(scale, minScale, maxScale);
+        sampleCount = 0;
+        sampleIndex = 0;
+    }
+
+    /**
+     * Gets the average work time.
+     * @return {@link float} - The work time in milliseconds
+     */
+    public float workTime()
+    {
+        return workTime;
+    }
+
+    private void create()
+    {
+        buffer = new FrameBuffer(Format.RGBA8888,
+                MathUtils.ceil(width * maxScale),
+                MathUtils.ceil(height * maxScale),
+                true);
+        buffer.getColorBufferTexture().setFilter(TextureFilter.Linear,
+                TextureFilter.Linear);
+    }
+
+    private static float average(float[] samples)
+    {
+        float total = 0f;
+        for (float sample: samples)
+        {
+            total += sample;
+        }
+        return total / samples.length;
+    }
+
+    private void measure(float time, float work)
+    {
+        samples[sampleIndex] = time;
+        workSamples[sampleIndex] = work;
+        sampleIndex = (sampleIndex + 1) % SAMPLES;
+        if (sampleCount < SAMPLES) sampleCount ++;
+        if (sampleCount < SAMPLES) return;
+
+        frameTime = average(samples);
+        workTime = average(workSamples);
+        if (frameTime > budget * (1f + hysteresis) && scale > minScale)
+        {
+            setScale(scale - STEP);
+        }
+        else if (workTime < budget * (1f - hysteresis) && scale < maxScale)
+        {
+            setScale(scale + STEP);
+        }
+    }
+}
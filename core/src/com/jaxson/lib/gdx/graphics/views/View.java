@@ -9,6 +9,7 @@ import com.badlogic.gdx.graphics.g3d.utils.ShaderProvider;
 import com.badlogic.gdx.utils.viewport.ExtendViewport;
 import com.badlogic.gdx.utils.viewport.FitViewport;
 import com.badlogic.gdx.utils.viewport.Viewport;
+import com.jaxson.lib.gdx.graphics.g3d.util.RenderQueue;
 
 public class View
 {
@@ -18,6 +19,8 @@ public class View
     private HashMap<String, Viewport> extras;
     private SpriteBatch spriteBatch;
     private ModelBatch modelBatch;
+    private RenderQueue renderQueue;
+    private DynamicResolution resolution;
 
     public View(int width, int height)
     {
@@ -35,7 +38,8 @@ public class View
         this.hud = hud;
         this.extras = new HashMap<>();
         this.spriteBatch = new SpriteBatch();
-        this.modelBatch = new ModelBatch();
+        this.renderQueue = new RenderQueue();
+        this.modelBatch = new ModelBatch(renderQueue);
         setToOrthographic();
     }
 
@@ -45,10 +49,32 @@ public class View
         return viewport;
     }
 
+    /**
+     * Starts drawing the model view.
+     * Draws off screen when the view has a {@link DynamicResolution}.
+     * Zeroes the counters of the {@link RenderQueue}.
+     */
+    public void beginModels()
+    {
+        renderQueue.resetCounts();
+        if (resolution != null) resolution.begin(modelView());
+    }
+
     public void dispose()
     {
         spriteBatch().dispose();
         modelBatch().dispose();
+        if (resolution != null) resolution.dispose();
+    }
+
+    /**
+     * Stops drawing the model view.
+     * Upscales the off screen image to the window when the view has a
+     * {@link DynamicResolution}.
+     */
+    public void endModels()
+    {
+        if (resolution != null) resolution.end(modelView(), spriteBatch());
     }
 
     public Viewport get(String name)
@@ -71,6 +97,16 @@ public class View
         return model;
     }
 
+    /**
+     * Gets the dynamic resolution of the model view.
+     * @return {@link DynamicResolution} - The dynamic resolution or
+     * {@code null} if the model view is drawn at the window size
+     */
+    public DynamicResolution resolution()
+    {
+        return resolution;
+    }
+
     public Viewport remove(String name)
     {
         return extras.remove(name);
@@ -81,6 +117,16 @@ public class View
         return extras.remove(viewport);
     }
 
+    /**
+     * Gets the sorter of the model batch.
+     * Reports the state changes sorting saved.
+     * @return {@link RenderQueue} - The sorter
+     */
+    public RenderQueue renderQueue()
+    {
+        return renderQueue;
+    }
+
     public Viewport rename(String oldName, String newName)
     {
         if (oldName.equals(newName)) return get(oldName);
@@ -93,10 +139,11 @@ public class View
         spriteBatch().dispose();
         modelBatch().dispose();
         spriteBatch = new SpriteBatch();
-        modelBatch = new ModelBatch();
+        modelBatch = new ModelBatch(renderQueue);
         spriteView().update(width, height);
         modelView().update(width, height);
         hudView().update(width, height);
+        if (resolution != null) resolution.resize(width, height);
         for (Viewport viewport: extras.values())
         {
             viewport.update(width, height);
@@ -113,10 +160,22 @@ public class View
         this.model = model;
     }
 
+    /**
+     * Sets the dynamic resolution of the model view.
+     * @param resolution The dynamic resolution, {@code null} to draw at the
+     * window size
+     */
+    public void setResolution(DynamicResolution resolution)
+    {
+        if (this.resolution != null && this.resolution != resolution)
+            this.resolution.dispose();
+        this.resolution = resolution;
+    }
+
     public void setShaderProvider(ShaderProvider shaderProvider)
     {
         if (modelBatch != null) modelBatch().dispose();
-        this.modelBatch = new ModelBatch(shaderProvider);
+        this.modelBatch = new ModelBatch(shaderProvider, renderQueue);
     }
 
     public void setSpriteView(Viewport sprite)
@@ -17,6 +17,7 @@ import com.badlogic.gdx.graphics.PixmapIO;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.loader.G3dModelLoader;
 import com.badlogic.gdx.graphics.g3d.loader.ObjLoader;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
 import com.badlogic.gdx.utils.JsonReader;
 import com.badlogic.gdx.utils.UBJsonReader;
 import com.jaxson.lib.gdx.graphics.g2d.Screenshot;
@@ -338,16 +339,48 @@ public class GdxFile implements File<GdxFile, Model, Pixmap>
                 new UBJsonReader()).loadModel(getFileHandle());
     }
 
+    private ModelData readG3dbData()
+    {
+        return new G3dModelLoader(
+                new UBJsonReader()).loadModelData(getFileHandle());
+    }
+
     private Model readG3dj()
     {
         return new G3dModelLoader(new JsonReader()).loadModel(getFileHandle());
     }
 
+    private ModelData readG3djData()
+    {
+        return new G3dModelLoader(
+                new JsonReader()).loadModelData(getFileHandle());
+    }
+
     private Model readObj()
     {
         return new ObjLoader().loadModel(getFileHandle());
     }
 
+    private ModelData readObjData()
+    {
+        return new ObjLoader().loadModelData(getFileHandle());
+    }
+
+    /**
+     * Reads the data of a model without creating any GL resources.
+     * Safe to call off the render thread, pass the result to
+     * {@link Model#Model(ModelData)} on the render thread.
+     * @return {@link ModelData} - The model data
+     */
+    public ModelData readModelData()
+    {
+        FileExtension extension = fileExtension();
+        if (extension.equals(FileExtension.G3DB)) return readG3dbData();
+        if (extension.equals(FileExtension.G3DJ)) return readG3djData();
+        if (extension.equals(FileExtension.OBJ)) return readObjData();
+        throw new IllegalArgumentException(LOADER_NOT_FOUND);
+    }
+
     @Override
     public Model readObject()
     {
@@ -0,0 +1,301 @@
+package com.jaxson.lib.gdx.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMesh;
+import com.badlogic.gdx.graphics.g3d.model.data.ModelMeshPart;
+import com.badlogic.gdx.graphics.g3d.utils.TextureProvider;
+import com.badlogic.gdx.utils.Array;
+import com.jaxson.lib.gdx.graphics.g3d.util.MeshSimplifier;
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * Reads a model and generates less detailed copies of it.
+ * Simplified meshes are cached in local storage under a hash of the source
+ * meshes, so only the first load of a model pays for simplifying. Every
+ * level shares the textures of the original model, which owns them.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public class LodModelsFromFile extends FromFile<Model[]>
+{
+    private static final String CACHE_DIRECTORY = "cache/lod/";
+    private static final String CACHE_EXTENSION = ".lod";
+    private static final int MAGIC = 0x4C4F4421;
+    private static final int VERSION = 2;
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+    private static final int[] RESOLUTIONS = { 24, 8 };
+
+    private int[] resolutions;
+
+    public LodModelsFromFile(GdxFile file)
+    {
+        this(file, RESOLUTIONS);
+    }
+
+    /**
+     * Constructs a loader.
+     * @param file The g3db, g3dj or obj model
+     * @param resolutions The grid size of each simplified level, from most
+     * to least detailed
+     */
+    public LodModelsFromFile(GdxFile file, int... resolutions)
+    {
+        super(file);
+        for (int resolution: resolutions)
+        {
+            if (resolution <= 0)
+                throw new NegativeValueException("resolution");
+        }
+        this.resolutions = resolutions;
+    }
+
+    /**
+     * Gets the cache file of a level.
+     * @param resolution The grid size of the level
+     * @return {@link GdxFile} - The file in local storage
+     */
+    public GdxFile cacheFile(int resolution)
+    {
+        return new GdxFile(CACHE_DIRECTORY + file().path() + "." + resolution
+                + CACHE_EXTENSION, FileType.Local);
+    }
+
+    /**
+     * Reads the model and each simplified level.
+     * @return {@link Model}[] - The models, the original first
+     */
+    @Override
+    public Model[] unwrap()
+    {
+        ModelData data = file().readModelData();
+        long hash = hash(data);
+        SharedTextures textures = new SharedTextures();
+        Model[] models = new Model[resolutions.length + 1];
+        models[0] = new Model(data, textures);
+        for (int i = 0; i < resolutions.length; i ++)
+        {
+            models[i + 1] = new LevelModel(
+                    level(data, hash, resolutions[i]), textures);
+        }
+        return models;
+    }
+
+    /**
+     * Hashes what the simplified meshes are built from.
+     */
+    private static long hash(ModelData data)
+    {
+        long hash = FNV_OFFSET;
+        for (ModelMesh mesh: data.meshes)
+        {
+            for (VertexAttribute attribute: mesh.attributes)
+            {
+                hash = hash(hash, attribute.usage);
+                hash = hash(hash, attribute.numComponents);
+            }
+            for (float value: mesh.vertices)
+            {
+                hash = hash(hash, Float.floatToIntBits(value));
+            }
+            for (ModelMeshPart part: mesh.parts)
+            {
+                hash = hash(hash, part.primitiveType);
+                if (part.indices == null) continue;
+                for (short index: part.indices)
+                {
+                    hash = hash(hash, index);
+                }
+            }
+        }
+        return hash;
+    }
+
+    private static long hash(long hash, int value)
+    {
+        return (hash ^ value) * FNV_PRIME;
+    }
+
+    private ModelData level(ModelData data, long hash, int resolution)
+    {
+        GdxFile cache = cacheFile(resolution);
+        ModelData cached = read(cache, data, hash, resolution);
+        if (cached != null) return cached;
+        ModelData simplified = MeshSimplifier.simplify(data, resolution);
+        write(cache, simplified, hash, resolution);
+        return simplified;
+    }
+
+    private ModelData read(GdxFile cache,
+            ModelData data,
+            long hash,
+            int resolution)
+    {
+        if (!cache.exists()) return null;
+        DataInputStream in = null;
+        try
+        {
+            in = new DataInputStream(new BufferedInputStream(
+                    cache.getFileHandle().read()));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION
+                    || in.readLong() != hash
+                    || in.readInt() != resolution
+                    || in.readInt() != data.meshes.size)
+                return null;
+            Array<ModelMesh> meshes = new Array<>();
+            for (ModelMesh source: data.meshes)
+            {
+                ModelMesh mesh = new ModelMesh();
+                mesh.id = source.id;
+                mesh.attributes = source.attributes;
+                mesh.vertices = new float[in.readInt()];
+                for (int i = 0; i < mesh.vertices.length; i ++)
+                {
+                    mesh.vertices[i] = in.readFloat();
+                }
+                if (in.readInt() != source.parts.length) return null;
+                mesh.parts = new ModelMeshPart[source.parts.length];
+                for (int p = 0; p < mesh.parts.length; p ++)
+                {
+                    ModelMeshPart part = new ModelMeshPart();
+                    part.id = source.parts[p].id;
+                    part.primitiveType = source.parts[p].primitiveType;
+                    part.indices = new short[in.readInt()];
+                    for (int i = 0; i < part.indices.length; i ++)
+                    {
+                        part.indices[i] = in.readShort();
+                    }
+                    mesh.parts[p] = part;
+                }
+                meshes.add(mesh);
+            }
+            return MeshSimplifier.withMeshes(data, meshes);
+        }
+        catch (Exception ex)
+        {
+            return null;
+        }
+        finally
+        {
+            close(in);
+        }
+    }
+
+    private void write(GdxFile cache,
+            ModelData data,
+            long hash,
+            int resolution)
+    {
+        DataOutputStream out = null;
+        boolean written = false;
+        try
+        {
+            out = new DataOutputStream(new BufferedOutputStream(
+                    cache.getFileHandle().write(false)));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(hash);
+            out.writeInt(resolution);
+            out.writeInt(data.meshes.size);
+            for (ModelMesh mesh: data.meshes)
+            {
+                out.writeInt(mesh.vertices.length);
+                for (float value: mesh.vertices)
+                {
+                    out.writeFloat(value);
+                }
+                out.writeInt(mesh.parts.length);
+                for (ModelMeshPart part: mesh.parts)
+                {
+                    out.writeInt(part.indices.length);
+                    for (short index: part.indices)
+                    {
+                        out.writeShort(index);
+                    }
+                }
+            }
+            out.flush();
+            written = true;
+        }
+        catch (Exception ex)
+        {
+
+        }
+        finally
+        {
+            close(out);
+            if (!written) cache.delete();
+        }
+    }
+
+    private static void close(Closeable stream)
+    {
+        if (stream == null) return;
+        try
+        {
+            stream.close();
+        }
+        catch (IOException ex)
+        {
+
+        }
+    }
+
+    /**
+     * A simplified level drawing with the textures of the original model.
+     * The textures are left for the original to dispose.
+     */
+    private static class LevelModel extends Model
+    {
+        public LevelModel(ModelData data, SharedTextures textures)
+        {
+            super(data, textures);
+            for (Texture texture: textures.textures())
+            {
+                disposables.removeValue(texture, true);
+            }
+        }
+    }
+
+    /**
+     * Loads each texture file once for every level of a model.
+     */
+    private static class SharedTextures implements TextureProvider
+    {
+        private TextureProvider files;
+        private Map<String, Texture> textures;
+
+        public SharedTextures()
+        {
+            this.files = new TextureProvider.FileTextureProvider();
+            this.textures = new HashMap<>();
+        }
+
+        @Override
+        public Texture load(String fileName)
+        {
+            Texture texture = textures.get(fileName);
+            if (texture != null) return texture;
+            texture = files.load(fileName);
+            textures.put(fileName, texture);
+            return texture;
+        }
+
+        public Iterable<Texture> textures()
+        {
+            return textures.values();
+        }
+    }
+}
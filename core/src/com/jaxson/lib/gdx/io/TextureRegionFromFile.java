@@ -0,0 +1,18 @@
+package com.jaxson.lib.gdx.io;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.jaxson.lib.gdx.graphics.g2d.SpriteAtlas;
+
+public class TextureRegionFromFile extends FromFile<TextureRegion>
+{
+    public TextureRegionFromFile(GdxFile file)
+    {
+        super(file);
+    }
+
+    @Override
+    public TextureRegion unwrap()
+    {
+        return SpriteAtlas.shared().region(file());
+    }
+}
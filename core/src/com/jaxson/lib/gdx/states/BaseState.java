@@ -1,7 +1,9 @@
 package com.jaxson.lib.gdx.states;
 
 import com.jaxson.lib.gdx.backend.Game;
+import com.jaxson.lib.gdx.backend.objects.HudElements;
 import com.jaxson.lib.gdx.backend.objects.MixedObjects;
+import com.jaxson.lib.gdx.backend.objects.Models;
 import com.jaxson.lib.gdx.graphics.g2d.entities.types.Sprite;
 import com.jaxson.lib.gdx.graphics.g3d.entities.types.Entity;
 import com.jaxson.lib.gdx.graphics.g3d.environment.MyEnvironment;
@@ -55,6 +57,16 @@ public abstract class BaseState extends GameObject
         return game().display().height();
     }
 
+    public HudElements hud()
+    {
+        return objects.hud();
+    }
+
+    public Models models()
+    {
+        return objects.models();
+    }
+
     public void remove(Entity entity)
     {
         objects.remove(entity);
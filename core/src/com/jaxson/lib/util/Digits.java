@@ -0,0 +1,104 @@
+package com.jaxson.lib.util;
+
+import com.jaxson.lib.util.exceptions.NegativeValueException;
+
+/**
+ * Writes numbers into a {@link StringBuilder} one digit at a time.
+ * Unlike {@link StringBuilder#append(float)} no {@link String} is created,
+ * so counters can be updated every frame without garbage.
+ * @author Jaxson Van Doorn
+ * @since 1.0
+ */
+public final class Digits
+{
+    private static final String MIN_LONG = "-9223372036854775808";
+    private static final String NAN = "NaN";
+    private static final String INFINITY = "Infinity";
+    private static final int BASE = 10;
+    private static final int MAX_DECIMALS = 9;
+    private static final long[] POWERS = {
+            1L,
+            10L,
+            100L,
+            1000L,
+            10000L,
+            100000L,
+            1000000L,
+            10000000L,
+            100000000L,
+            1000000000L };
+
+    private Digits()
+    {
+
+    }
+
+    /**
+     * Writes a whole number.
+     * @param out The builder to write to
+     * @param value The number
+     * @return {@link StringBuilder} - The builder
+     */
+    public static StringBuilder append(StringBuilder out, long value)
+    {
+        if (value == Long.MIN_VALUE) return out.append(MIN_LONG);
+        if (value < 0)
+        {
+            out.append('-');
+            value = -value;
+        }
+        long divisor = 1L;
+        while (value / divisor >= BASE)
+        {
+            divisor *= BASE;
+        }
+        while (divisor > 0)
+        {
+            out.append((char) ('0' + value / divisor % BASE));
+            divisor /= BASE;
+        }
+        return out;
+    }
+
+    /**
+     * Writes a number rounded to a number of decimal places.
+     * Numbers too large to round exactly are written by
+     * {@link StringBuilder#append(float)}.
+     * @param out The builder to write to
+     * @param value The number
+     * @param decimals The number of decimal places, at most {@code 9}
+     * @return {@link StringBuilder} - The builder
+     */
+    public static StringBuilder append(StringBuilder out,
+            float value,
+            int decimals)
+    {
+        if (decimals < 0) throw new NegativeValueException("decimals");
+        if (decimals > MAX_DECIMALS)
+        {
+            throw new IllegalArgumentException(
+                    "At most " + MAX_DECIMALS + " decimals");
+        }
+        if (Float.isNaN(value)) return out.append(NAN);
+        if (Float.isInfinite(value))
+        {
+            if (value < 0f) out.append('-');
+            return out.append(INFINITY);
+        }
+        long power = POWERS[decimals];
+        double scaled = Math.abs((double) value) * power;
+        if (scaled >= Long.MAX_VALUE) return out.append(value);
+
+        long rounded = Math.round(scaled);
+        if (value < 0f && rounded != 0L) out.append('-');
+        append(out, rounded / power);
+        if (decimals == 0) return out;
+        out.append('.');
+        long fraction = rounded % power;
+        for (long digit = power / BASE; digit > 0; digit /= BASE)
+        {
+            out.append((char) ('0' + fraction / digit % BASE));
+        }
+        return out;
+    }
+}
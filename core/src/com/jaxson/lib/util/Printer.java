@@ -4,7 +4,7 @@ public class Printer
 {
     public static class Label
     {
-        private static final String SEPERATOR = ": %s";
+        private static final String SEPERATOR = ": ";
         private static final String EMPTY = "Empty";
 
         private String text;
@@ -26,18 +26,30 @@ public class Printer
             this.value = value;
         }
 
-        @Override
-        public String toString()
+        /**
+         * Writes the label into a builder.
+         * @param out The builder
+         * @return {@link StringBuilder} - The builder
+         */
+        public StringBuilder print(StringBuilder out)
         {
             Object newValue = value;
             if (newValue == null) newValue = EMPTY;
-            if (text == null || text.isEmpty()) return newValue.toString();
-            return text + String.format(SEPERATOR, newValue);
+            if (text != null && !text.isEmpty())
+                out.append(text).append(SEPERATOR);
+            return out.append(newValue);
+        }
+
+        @Override
+        public String toString()
+        {
+            return print(new StringBuilder()).toString();
         }
     }
 
     private static final String SEPERATOR = ", ";
-    private static final String NESTER = "[%s]";
+    private static final char OPEN = '[';
+    private static final char CLOSE = ']';
 
     private Class<?> type;
     private Label[] labels;
@@ -58,14 +70,25 @@ public class Printer
         return type.getSimpleName();
     }
 
+    /**
+     * Writes the object and its labels into a builder.
+     * @param out The builder
+     * @return {@link StringBuilder} - The builder
+     */
+    public StringBuilder print(StringBuilder out)
+    {
+        out.append(objectName()).append(OPEN);
+        for (int i = 0; i < labels.length; i ++)
+        {
+            if (i > 0) out.append(SEPERATOR);
+            labels[i].print(out);
+        }
+        return out.append(CLOSE);
+    }
+
     @Override
     public String toString()
     {
-        String nester = objectName() + NESTER;
-        String inner = "";
-        for (Label pair: labels)
-            inner += pair.toString() + SEPERATOR;
-        inner = inner.substring(0, inner.length() - 2);
-        return String.format(nester, inner);
+        return print(new StringBuilder()).toString();
     }
 }
@@ -8,7 +8,7 @@ import com.jaxson.lib.gdx.input.Inputs;
 import com.jaxson.lib.gdx.input.Keyboard;
 import com.jaxson.lib.gdx.input.KeyboardKey;
 import com.jaxson.lib.gdx.io.GdxFile;
-import com.jaxson.lib.gdx.io.TextureFromFile;
+import com.jaxson.lib.gdx.io.TextureRegionFromFile;
 import com.jaxson.lib.math.MyMath;
 
 public class Player extends SpriteBody
@@ -30,7 +30,7 @@ public class Player extends SpriteBody
 
     public Player()
     {
-        super(new TextureFromFile(new GdxFile(PATH)),
+        super(new TextureRegionFromFile(new GdxFile(PATH)),
                 new Hitbox(1.15f, 1f, -0.6f, -1.8f),
                 BodyDef.BodyType.DynamicBody,
                 1f);
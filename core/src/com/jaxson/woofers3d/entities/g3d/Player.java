@@ -4,6 +4,7 @@ import com.jaxson.lib.gdx.bullet.simulation.bodies.types.CameraPlayerBody;
 import com.jaxson.lib.gdx.graphics.views.TargetCamera;
 import com.badlogic.gdx.math.Vector3;
 import com.jaxson.lib.gdx.input.KeyboardKey;
+import com.jaxson.lib.gdx.io.GdxFile;
 
 public class Player extends CameraPlayerBody
 {
@@ -16,7 +17,7 @@ public class Player extends CameraPlayerBody
 
     public Player(TargetCamera camera)
     {
-        super(readModel(PATH), camera);
+        super(new GdxFile(PATH), camera);
         setCollisionShapeScale(HITBOX_SCALE);
         setScale(SCALE);
         moveTo(new Vector3(0f, -0.25f, -1f));
@@ -0,0 +1,110 @@
+package com.jaxson.woofers3d.states;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.jaxson.lib.gdx.backend.Game;
+import com.jaxson.lib.gdx.bullet.BulletState;
+import com.jaxson.lib.gdx.bullet.simulation.BroadphaseType;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.RigidBox;
+import com.jaxson.lib.gdx.graphics.color.RandomColor;
+import com.jaxson.lib.gdx.graphics.g2d.entities.FPSCounter;
+import com.jaxson.lib.gdx.graphics.g2d.entities.Text;
+import com.jaxson.lib.gdx.graphics.views.TargetCamera;
+import com.jaxson.lib.gdx.input.Inputs;
+import com.jaxson.lib.gdx.input.KeyboardKey;
+import com.jaxson.lib.gdx.math.random.RandomVector3;
+
+/**
+ * Stress scene comparing broadphases on a large, sparse world.
+ * Press {@code B} to restart the scene with the next
+ * {@link BroadphaseType}.
+ */
+public class BroadphaseState extends BulletState
+{
+    private static final int BOX_AMOUNT = 2000;
+    private static final float WORLD_SPAN = 600f;
+    private static final float WORLD_HEIGHT = 50f;
+    private static final float MIN_SPEED = 1f;
+    private static final float MAX_SPEED = 5f;
+    private static final float REPORT_INTERVAL = 0.5f;
+    private static final int DECIMALS = 3;
+
+    private BroadphaseType broadphaseType;
+    private TargetCamera camera;
+    private Text text;
+    private float counter;
+    private float stepTotal;
+    private int steps;
+    private boolean switchBroadphase;
+    private KeyboardKey switchKey;
+
+    public BroadphaseState(Game game)
+    {
+        this(game, BroadphaseType.DEFAULT);
+    }
+
+    public BroadphaseState(Game game, BroadphaseType broadphaseType)
+    {
+        super(game, broadphaseType);
+        this.broadphaseType = broadphaseType;
+        setSubState(new PauseState(game));
+        setShadows(false);
+        physicsWorld().setGravity(Vector3.Zero);
+
+        camera = new TargetCamera(width(), height());
+        applyPhysics(camera);
+        view().modelView().setCamera(camera);
+
+        for (int i = 0; i < BOX_AMOUNT; i ++)
+        {
+            RigidBox box = new RigidBox(new RandomColor());
+            box.moveTo(new RandomVector3(-WORLD_SPAN, WORLD_SPAN,
+                    0f, WORLD_HEIGHT,
+                    -WORLD_SPAN, WORLD_SPAN));
+            applyPhysics(box);
+            box.setLinearVelocity(new RandomVector3(MIN_SPEED, MAX_SPEED));
+            box.activate();
+            add(box);
+        }
+
+        addHud(new FPSCounter(game()));
+
+        text = new Text("");
+        text.moveTo(new Vector2(20, 38));
+        addHud(text);
+
+        switchKey = Inputs.keyboard().key("B");
+    }
+
+    @Override
+    protected void input(float dt)
+    {
+        if (switchKey.isPressed()) switchBroadphase = true;
+    }
+
+    @Override
+    public void update(float dt)
+    {
+        super.update(dt);
+        stepTotal += physicsWorld().stepTime();
+        steps ++;
+        counter += dt;
+        if (counter >= REPORT_INTERVAL)
+        {
+            text.clear()
+                    .append(broadphaseType.toString())
+                    .append(": ")
+                    .append(stepTotal / steps, DECIMALS)
+                    .append(" ms per step, ")
+                    .append(BOX_AMOUNT)
+                    .append(" bodies");
+            counter = 0f;
+            stepTotal = 0f;
+            steps = 0;
+        }
+        if (switchBroadphase)
+        {
+            game().setState(new BroadphaseState(game(), broadphaseType.next()));
+        }
+    }
+}
@@ -5,7 +5,7 @@ import com.jaxson.lib.gdx.backend.Game;
 import com.jaxson.lib.gdx.graphics.g2d.entities.types.SpriteActor;
 import com.jaxson.lib.gdx.graphics.views.View;
 import com.jaxson.lib.gdx.io.GdxFile;
-import com.jaxson.lib.gdx.io.TextureFromFile;
+import com.jaxson.lib.gdx.io.TextureRegionFromFile;
 import com.jaxson.lib.gdx.states.SubState;
 
 public class PauseState extends SubState
@@ -20,7 +20,7 @@ public class PauseState extends SubState
     {
         super(game);
         image = new SpriteActor(
-                new TextureFromFile(
+                new TextureRegionFromFile(
                         new GdxFile(PAUSE_SCREEN_PATH)));
 
         image.moveTo(
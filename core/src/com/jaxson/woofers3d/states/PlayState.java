@@ -34,6 +34,7 @@ public class PlayState extends BulletState
     private static final float MARKER_LENGTH = 35f;
 
     private static final float SCALE_TEST = 1f;
+    private static final int DECIMALS = 2;
 
     private Floor floor;
     private Floor ramp;
@@ -161,7 +162,15 @@ public class PlayState extends BulletState
         counter += dt;
         while (counter >= 0.05f)
         {
-            text.setText(player.toString());
+            text.clear()
+                    .append("Velocity: ")
+                    .append(player.velocity(), DECIMALS)
+                    .append(", Acceleration: ")
+                    .append(player.acceleration(), DECIMALS)
+                    .append(", Max Speed: ")
+                    .append(player.maxSpeed(), DECIMALS)
+                    .append(", In Air: ")
+                    .append(player.inAir());
             counter = 0f;
         }
     }
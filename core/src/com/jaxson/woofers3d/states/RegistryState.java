@@ -0,0 +1,208 @@
+package com.jaxson.woofers3d.states;
+
+import java.nio.ByteBuffer;
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.physics.bullet.collision.btCollisionObject;
+import com.jaxson.lib.gdx.backend.Game;
+import com.jaxson.lib.gdx.bullet.BulletState;
+import com.jaxson.lib.gdx.bullet.simulation.BulletWorld;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.RigidBox;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.types.EntityBody;
+import com.jaxson.lib.gdx.graphics.g2d.entities.FPSCounter;
+import com.jaxson.lib.gdx.graphics.g2d.entities.Text;
+import com.jaxson.lib.gdx.input.Inputs;
+import com.jaxson.lib.gdx.input.KeyboardKey;
+import com.jaxson.lib.util.MyArrayList;
+
+/**
+ * Benchmark scene for the body registry of a {@link BulletWorld}.
+ * Adds a grid of bodies, looks each one up from its collision object, casts
+ * one ray down onto each, snapshots and restores them and removes them
+ * again, reporting how long every pass took. The lookup is also timed
+ * scanning the entity list, as the world did before the registry. A second snapshot taken after
+ * the restore is compared with the first byte for byte. Press {@code R} to
+ * run it again.
+ */
+public class RegistryState extends BulletState
+{
+    private static final int BODY_AMOUNT = 10000;
+    private static final int GRID_WIDTH = 100;
+    private static final float SPACING = 3f;
+    private static final float RAY_HEIGHT = 10f;
+    private static final float RAY_DISTANCE = 20f;
+    private static final int STRIDE = 3;
+    private static final float NANOS_PER_MILLI = 1000000f;
+    private static final int DECIMALS = 3;
+
+    private RigidBox[] boxes;
+    private float[] origins;
+    private float[] directions;
+    private int[] hits;
+    private ByteBuffer saved;
+    private ByteBuffer check;
+    private Text text;
+    private KeyboardKey runKey;
+
+    public RegistryState(Game game)
+    {
+        super(game);
+        setSubState(new PauseState(game));
+        setShadows(false);
+        physicsWorld().setGravity(Vector3.Zero);
+
+        boxes = new RigidBox[BODY_AMOUNT];
+        origins = new float[BODY_AMOUNT * STRIDE];
+        directions = new float[BODY_AMOUNT * STRIDE];
+        hits = new int[BODY_AMOUNT];
+        for (int i = 0; i < BODY_AMOUNT; i ++)
+        {
+            float x = (i % GRID_WIDTH) * SPACING;
+            float z = (i / GRID_WIDTH) * SPACING;
+            boxes[i] = new RigidBox();
+            boxes[i].moveTo(new Vector3(x, 0f, z));
+            origins[i * STRIDE] = x;
+            origins[i * STRIDE + 1] = RAY_HEIGHT;
+            origins[i * STRIDE + 2] = z;
+            directions[i * STRIDE + 1] = -1f;
+        }
+
+        addHud(new FPSCounter(game()));
+
+        text = new Text("");
+        text.moveTo(new Vector2(20, 38));
+        addHud(text);
+
+        runKey = Inputs.keyboard().key("R");
+        run();
+    }
+
+    @Override
+    public void dispose()
+    {
+        super.dispose();
+        for (RigidBox box: boxes)
+        {
+            box.dispose();
+        }
+    }
+
+    @Override
+    protected void input(float dt)
+    {
+        if (runKey.isPressed()) run();
+    }
+
+    /**
+     * Finds the entity of a body by checking every entity.
+     */
+    private static EntityBody scan(MyArrayList<EntityBody> entities,
+            btCollisionObject body)
+    {
+        for (EntityBody entity: entities)
+        {
+            if (entity.isBody(body)) return entity;
+        }
+        return null;
+    }
+
+    private static float millis(long start)
+    {
+        return (System.nanoTime() - start) / NANOS_PER_MILLI;
+    }
+
+    private void run()
+    {
+        BulletWorld world = physicsWorld();
+
+        long start = System.nanoTime();
+        for (RigidBox box: boxes)
+        {
+            world.add(box);
+        }
+        float add = millis(start);
+
+        start = System.nanoTime();
+        int found = 0;
+        for (RigidBox box: boxes)
+        {
+            if (world.contains(box)
+                    && world.entity(box.body()).orElse(null) == box)
+                found ++;
+        }
+        float lookup = millis(start);
+
+        MyArrayList<EntityBody> entities = world.registry().entities();
+        start = System.nanoTime();
+        int scanned = 0;
+        for (RigidBox box: boxes)
+        {
+            if (entities.contains(box) && scan(entities, box.body()) == box)
+                scanned ++;
+        }
+        float linear = millis(start);
+
+        start = System.nanoTime();
+        world.rayTraceAll(origins, directions, BODY_AMOUNT, RAY_DISTANCE,
+                hits, null, null, null);
+        float rays = millis(start);
+        int rayHits = 0;
+        for (int i = 0; i < BODY_AMOUNT; i ++)
+        {
+            if (hits[i] >= 0 && world.registry().get(hits[i]) == boxes[i])
+                rayHits ++;
+        }
+
+        int size = world.snapshotSize();
+        if (saved == null || saved.capacity() < size)
+        {
+            saved = ByteBuffer.allocate(size);
+            check = ByteBuffer.allocate(size);
+        }
+        saved.clear();
+        start = System.nanoTime();
+        world.snapshot(saved);
+        float snapshot = millis(start);
+        saved.flip();
+        start = System.nanoTime();
+        world.restore(saved);
+        float restore = millis(start);
+        saved.rewind();
+        check.clear();
+        world.snapshot(check);
+        check.flip();
+        boolean identical = saved.equals(check);
+
+        start = System.nanoTime();
+        for (RigidBox box: boxes)
+        {
+            world.remove(box);
+        }
+        float remove = millis(start);
+
+        text.clear()
+                .append(BODY_AMOUNT)
+                .append(" bodies, add ")
+                .append(add, DECIMALS)
+                .append(" ms, lookup ")
+                .append(lookup, DECIMALS)
+                .append(" ms (")
+                .append(found)
+                .append(" found), linear scan ")
+                .append(linear, DECIMALS)
+                .append(" ms (")
+                .append(scanned)
+                .append(" found), rays ")
+                .append(rays, DECIMALS)
+                .append(" ms (")
+                .append(rayHits)
+                .append(" hit), snapshot ")
+                .append(snapshot, DECIMALS)
+                .append(" ms, restore ")
+                .append(restore, DECIMALS)
+                .append(identical ? " ms (identical)" : " ms (differs)")
+                .append(", remove ")
+                .append(remove, DECIMALS)
+                .append(" ms");
+    }
+}
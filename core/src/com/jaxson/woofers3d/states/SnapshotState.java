@@ -0,0 +1,157 @@
+package com.jaxson.woofers3d.states;
+
+import java.nio.ByteBuffer;
+import com.badlogic.gdx.math.Vector2;
+import com.jaxson.lib.gdx.backend.Game;
+import com.jaxson.lib.gdx.bullet.BulletState;
+import com.jaxson.lib.gdx.bullet.simulation.BulletWorld;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.Floor;
+import com.jaxson.lib.gdx.bullet.simulation.bodies.RigidBox;
+import com.jaxson.lib.gdx.graphics.color.RandomColor;
+import com.jaxson.lib.gdx.graphics.g2d.entities.FPSCounter;
+import com.jaxson.lib.gdx.graphics.g2d.entities.Text;
+import com.jaxson.lib.gdx.graphics.views.TargetCamera;
+import com.jaxson.lib.gdx.input.Inputs;
+import com.jaxson.lib.gdx.input.KeyboardKey;
+import com.jaxson.lib.gdx.math.random.RandomVector3;
+
+/**
+ * Checks that snapshots of a {@link BulletWorld} round trip exactly.
+ * Press {@code K} to take a snapshot, restore it straight away and compare
+ * a second snapshot with the first byte for byte. Press {@code L} to
+ * restore the last snapshot and {@code X} to remove a box, after which the
+ * snapshot is rejected.
+ */
+public class SnapshotState extends BulletState
+{
+    private static final int BOX_AMOUNT = 50;
+    private static final float SPAN = 3f;
+    private static final float MIN_HEIGHT = 2f;
+    private static final float MAX_HEIGHT = 8f;
+
+    private RigidBox[] boxes;
+    private int removed;
+    private ByteBuffer saved;
+    private ByteBuffer check;
+    private Text text;
+    private KeyboardKey saveKey;
+    private KeyboardKey loadKey;
+    private KeyboardKey removeKey;
+
+    public SnapshotState(Game game)
+    {
+        super(game);
+        setSubState(new PauseState(game));
+
+        TargetCamera camera = new TargetCamera(width(), height());
+        applyPhysics(camera);
+        view().modelView().setCamera(camera);
+
+        Floor floor = new Floor();
+        applyPhysics(floor);
+        add(floor);
+
+        boxes = new RigidBox[BOX_AMOUNT];
+        for (int i = 0; i < BOX_AMOUNT; i ++)
+        {
+            boxes[i] = new RigidBox(new RandomColor());
+            boxes[i].moveTo(new RandomVector3(-SPAN, SPAN,
+                    MIN_HEIGHT, MAX_HEIGHT,
+                    -SPAN, SPAN));
+            applyPhysics(boxes[i]);
+            add(boxes[i]);
+        }
+
+        addHud(new FPSCounter(game()));
+
+        text = new Text("");
+        text.moveTo(new Vector2(20, 38));
+        addHud(text);
+
+        saveKey = Inputs.keyboard().key("K");
+        loadKey = Inputs.keyboard().key("L");
+        removeKey = Inputs.keyboard().key("X");
+    }
+
+    @Override
+    protected void input(float dt)
+    {
+        if (saveKey.isPressed()) roundTrip();
+        if (loadKey.isPressed()) load();
+        if (removeKey.isPressed()) removeBox();
+    }
+
+    /**
+     * Gets the first byte two snapshots differ at.
+     */
+    private static int difference(ByteBuffer first, ByteBuffer second)
+    {
+        if (first.limit() != second.limit())
+            return Math.min(first.limit(), second.limit());
+        for (int i = 0; i < first.limit(); i ++)
+        {
+            if (first.get(i) != second.get(i)) return i;
+        }
+        return -1;
+    }
+
+    private void load()
+    {
+        if (saved == null)
+        {
+            text.setText("No snapshot taken");
+            return;
+        }
+        try
+        {
+            physicsWorld().restore(saved);
+            text.setText("Snapshot restored");
+        }
+        catch (IllegalArgumentException ex)
+        {
+            text.setText(ex.getMessage());
+        }
+        finally
+        {
+            saved.rewind();
+        }
+    }
+
+    private void removeBox()
+    {
+        if (removed == BOX_AMOUNT) return;
+        RigidBox box = boxes[removed ++];
+        removePhysics(box);
+        remove(box);
+        box.dispose();
+        text.clear().append("Removed box ").append(removed);
+    }
+
+    private void roundTrip()
+    {
+        BulletWorld world = physicsWorld();
+        saved = snapshot(world, saved);
+        world.restore(saved);
+        saved.rewind();
+        check = snapshot(world, check);
+        int difference = difference(saved, check);
+        text.clear().append(world.registry().size()).append(" bodies, ");
+        if (difference < 0)
+        {
+            text.append(saved.limit()).append(" bytes identical");
+            return;
+        }
+        text.append("differs at byte ").append(difference);
+    }
+
+    private static ByteBuffer snapshot(BulletWorld world, ByteBuffer buffer)
+    {
+        int size = world.snapshotSize();
+        if (buffer == null || buffer.capacity() < size)
+            buffer = ByteBuffer.allocate(size);
+        buffer.clear();
+        world.snapshot(buffer);
+        buffer.flip();
+        return buffer;
+    }
+}